@@ -1,43 +1,245 @@
+import analysis.DatasetCache;
 import analysis.PerformanceAnalyzer;
-import analysis.SortResult;
+import analysis.RegressionGate;
+import analysis.ResultCube;
+import analysis.ScalingMode;
+import service.LoadGenerator;
+import service.SortServer;
 import visualization.ChartGenerator;
-import java.util.List;
+import visualization.HtmlReportGenerator;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
 
 public class Main {
     public static void main(String[] args) {
         System.out.println("=== AV2 - COMPUTAÇÃO PARALELA ===");
         System.out.println("Análise de Desempenho: Algoritmos de Ordenação Serial vs Paralelo\n");
 
-        try {
-            PerformanceAnalyzer analyzer = new PerformanceAnalyzer();
+        // Uso: Main strong|weak [tamanhoBase] [threads separadas por vírgula]
+        if (args.length > 0 && (args[0].equals("strong") || args[0].equals("weak"))) {
+            runScalingSweep(args);
+            return;
+        }
+
+        // Uso: Main serve [porta] | Main loadtest [clientes] [segundos] [tamanho] [url]
+        if (args.length > 0 && args[0].equals("serve")) {
+            runSortServer(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("loadtest")) {
+            runLoadTest(args);
+            return;
+        }
+
+        // Uso: Main batch [arrays] [tamanhoMin] [tamanhoMax]
+        if (args.length > 0 && args[0].equals("batch")) {
+            runBatchAnalysis(args);
+            return;
+        }
+
+        // Uso: Main distributed [tamanho] [w1,w2,...] [threadsPorWorker]
+        if (args.length > 0 && args[0].equals("distributed")) {
+            runDistributedAnalysis(args);
+            return;
+        }
+
+        // Uso: Main compare <baseline> [atual]; sai com código 1 se houver regressão, 2 em erro
+        if (args.length > 0 && args[0].equals("compare")) {
+            if (args.length < 2 || args.length > 3) {
+                System.out.println("Uso: Main compare <baseline.bin|csv> [atual.bin|csv]");
+                System.out.println("Sem arquivo atual, a análise de demonstração é executada e comparada ao baseline.");
+                System.exit(2);
+            }
+            System.exit(runRegressionGate(args));
+        }
 
-            // Configurações para análise de demonstração
-            int[] datasetSizes = {100, 500, 1000};
-            String[] datasetTypes = {"random", "sorted"};
-            int numSamples = 3;
-            int maxThreads = 4;
+        // Cada resultado é gravado em demo_analysis.bin assim que medido
+        try (PerformanceAnalyzer analyzer = new PerformanceAnalyzer("demo_analysis.bin")) {
+            configureDatasetCache(analyzer);
+            analyzer.setTracingEnabled(Boolean.getBoolean("sorting.trace"));
 
             // Executar análise
-            analyzer.runAnalysis(datasetSizes, numSamples, maxThreads, datasetTypes);
+            runDemoAnalysis(analyzer);
 
             // Salvar resultados
             analyzer.saveToCSV("demo_analysis.csv");
 
             // Gerar análises gráficas
-            List<SortResult> results = analyzer.getResults();
+            ResultCube cube = analyzer.buildCube();
 
-            ChartGenerator.generateSerialVsParallelComparison(results);
-            ChartGenerator.generateSpeedupAnalysis(results);
-            ChartGenerator.generateThreadScalingAnalysis(results);
-            ChartGenerator.generateDatasetTypeAnalysis(results);
+            ChartGenerator.generateSerialVsParallelComparison(cube);
+            ChartGenerator.generateSpeedupAnalysis(cube);
+            ChartGenerator.generateThreadScalingAnalysis(cube);
+            ChartGenerator.generateDatasetTypeAnalysis(cube);
+            ChartGenerator.generateMemoryEfficiencyReport(analyzer::forEachResult);
+            ChartGenerator.generateScalabilityAnalysis(cube);
+            HtmlReportGenerator.generate(cube, "demo_report.html");
 
             System.out.println("\n🎉 ANÁLISE CONCLUÍDA COM SUCESSO!");
             System.out.println("📊 Resultados salvos em: demo_analysis.csv");
-            System.out.println("📈 Análises geradas no console");
+            System.out.println("📈 Análises geradas no console e em demo_report.html");
+
+        } catch (Exception e) {
+            System.out.println("❌ Erro durante a execução: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // -Ddataset.cache=<diretório> ativa o cache; -Ddataset.cache.maxMB e -Ddataset.cache.verify o ajustam
+    private static void configureDatasetCache(PerformanceAnalyzer analyzer) {
+        String directory = System.getProperty("dataset.cache");
+        if (directory == null) {
+            return;
+        }
+        long maxBytes = Long.getLong("dataset.cache.maxMB", 1024) * 1024 * 1024;
+        DatasetCache cache = new DatasetCache(Paths.get(directory), maxBytes);
+        cache.setVerify(Boolean.getBoolean("dataset.cache.verify"));
+        analyzer.setDatasetCache(cache);
+    }
+
+    private static void runDemoAnalysis(PerformanceAnalyzer analyzer) {
+        // Configurações para análise de demonstração
+        int[] datasetSizes = {100, 500, 1000};
+        String[] datasetTypes = {"random", "sorted"};
+        // 5 amostras por configuração: com 3 contra 3 o gate de regressão nunca alcança p < 0.05
+        int numSamples = 5;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        analyzer.runAnalysis(datasetSizes, numSamples, maxThreads, datasetTypes);
+    }
+
+    private static int runRegressionGate(String[] args) {
+        double threshold = Double.parseDouble(System.getProperty("regression.threshold", "0.10"));
+        double alpha = Double.parseDouble(System.getProperty("regression.alpha", "0.05"));
+
+        try {
+            ResultCube baseline = ResultCube.load(Paths.get(args[1]));
+            ResultCube current;
+            if (args.length > 2) {
+                current = ResultCube.load(Paths.get(args[2]));
+            } else {
+                // Sem arquivo atual: executa a análise de demonstração agora, em um arquivo
+                // temporário para não sobrescrever demo_analysis.bin (que pode ser o próprio baseline)
+                try (PerformanceAnalyzer analyzer = new PerformanceAnalyzer()) {
+                    configureDatasetCache(analyzer);
+                    runDemoAnalysis(analyzer);
+                    current = analyzer.buildCube();
+                }
+            }
+
+            RegressionGate gate = new RegressionGate(threshold, alpha);
+            boolean regressed = gate.printReport(gate.compare(baseline, current));
+            return regressed ? 1 : 0;
+        } catch (Exception e) {
+            System.out.println("❌ Erro durante a comparação: " + e.getMessage());
+            e.printStackTrace();
+            return 2;
+        }
+    }
+
+    private static void runBatchAnalysis(String[] args) {
+        int numArrays = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int minSize = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int maxSize = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+
+        try (PerformanceAnalyzer analyzer = new PerformanceAnalyzer("batch_analysis.bin")) {
+            analyzer.runBatchAnalysis(numArrays, minSize, maxSize, PerformanceAnalyzer.defaultThreadCounts(), 5, "random");
+            analyzer.saveToCSV("batch_analysis.csv");
+        } catch (Exception e) {
+            System.out.println("❌ Erro durante a execução: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runDistributedAnalysis(String[] args) {
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+        int[] workerCounts = args.length > 2
+                ? Arrays.stream(args[2].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 2, 4};
+        int threadsPerWorker = args.length > 3 ? Integer.parseInt(args[3])
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / Arrays.stream(workerCounts).max().getAsInt());
+
+        try (PerformanceAnalyzer analyzer = new PerformanceAnalyzer("distributed_analysis.bin")) {
+            configureDatasetCache(analyzer);
+            analyzer.runDistributedAnalysis(size, workerCounts, threadsPerWorker, 3, "random", "merge");
+            analyzer.saveToCSV("distributed_analysis.csv");
+        } catch (Exception e) {
+            System.out.println("❌ Erro durante a execução: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runSortServer(String[] args) {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        try {
+            SortServer server = new SortServer(port, Runtime.getRuntime().availableProcessors());
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("Servidor de ordenação em http://localhost:" + server.getPort() + "/sort");
+        } catch (Exception e) {
+            System.out.println("❌ Erro ao iniciar servidor: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runLoadTest(String[] args) {
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int arraySize = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+        // Sem URL: sobe um servidor embutido em uma porta livre
+        SortServer embedded = null;
+        try {
+            URI uri;
+            if (args.length > 4) {
+                uri = URI.create(args[4]);
+            } else {
+                embedded = new SortServer(0, Runtime.getRuntime().availableProcessors());
+                embedded.start();
+                uri = URI.create("http://localhost:" + embedded.getPort() + "/sort");
+            }
+
+            System.out.printf("Carga: %d clientes, %d s, %d elementos por requisição -> %s%n",
+                    clients, seconds, arraySize, uri);
+            LoadGenerator.run(uri, clients, Duration.ofSeconds(seconds), arraySize).print();
+        } catch (Exception e) {
+            System.out.println("❌ Erro durante o teste de carga: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static void runScalingSweep(String[] args) {
+        ScalingMode mode = args[0].equals("strong") ? ScalingMode.STRONG : ScalingMode.WEAK;
+        int baseSize = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int[] threadCounts = args.length > 2 ?
+                Arrays.stream(args[2].split(",")).mapToInt(Integer::parseInt).toArray() :
+                PerformanceAnalyzer.defaultThreadCounts();
+        String[] datasetTypes = {"random"};
+        int numSamples = 3;
+
+        String resultsFile = mode == ScalingMode.STRONG ? "strong_scaling" : "weak_scaling";
+        try (PerformanceAnalyzer analyzer = new PerformanceAnalyzer(resultsFile + ".bin")) {
+            configureDatasetCache(analyzer);
+            analyzer.runScalingSweep(mode, baseSize, threadCounts, numSamples, datasetTypes);
+            analyzer.saveToCSV(resultsFile + ".csv");
 
+            ResultCube cube = analyzer.buildCube();
+            if (mode == ScalingMode.STRONG) {
+                ChartGenerator.generateStrongScalingAnalysis(cube, baseSize);
+            } else {
+                ChartGenerator.generateWeakScalingAnalysis(cube, baseSize);
+            }
+            ChartGenerator.generateScalabilityAnalysis(cube);
+            HtmlReportGenerator.generate(cube, resultsFile + ".html");
         } catch (Exception e) {
             System.out.println("❌ Erro durante a execução: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
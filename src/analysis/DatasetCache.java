@@ -0,0 +1,311 @@
+package analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache em disco de datasets gerados, chaveado por (tipo, tamanho, semente).
+ *
+ * Cada dataset é um arquivo {@code <tipo>-<tamanho>-<semente>.ds}: cabeçalho de
+ * {@code HEADER_BYTES} ({@code MAGIC}, {@code FORMAT_VERSION}, tamanho, semente,
+ * CRC32C dos dados) seguido dos inteiros em little-endian. Arquivos são
+ * gravados em um temporário e renomeados, então outros processos nunca veem
+ * um dataset pela metade. O horário de modificação serve de último acesso
+ * para a remoção LRU quando o diretório passa de {@code maxBytes}.
+ *
+ * Sem verificação, só o cabeçalho é conferido; com ela, o checksum também é
+ * recalculado a cada leitura. Um arquivo inválido é descartado e gerado de novo.
+ */
+public class DatasetCache {
+    static final int MAGIC = 0x53445354; // "SDST"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+
+    private static final String EXTENSION = ".ds";
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private final Path directory;
+    private final long maxBytes;
+    private boolean verify;
+    private long hits;
+    private long misses;
+
+    public DatasetCache(Path directory, long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do cache deve ser positivo");
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao criar diretório do cache: " + directory, e);
+        }
+    }
+
+    // Recalcula o checksum a cada leitura; mais lento, mas detecta arquivos corrompidos
+    public void setVerify(boolean verify) {
+        this.verify = verify;
+    }
+
+    public Path getDirectory() { return directory; }
+    public long getMaxBytes() { return maxBytes; }
+    public boolean isVerify() { return verify; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+
+    public Path pathFor(String datasetType, int size, long seed) {
+        return directory.resolve(datasetType + "-" + size + "-" + seed + EXTENSION);
+    }
+
+    /**
+     * Dataset como um novo {@code int[]} (cópia em bloco do arquivo mapeado),
+     * gerado e gravado no cache na primeira vez.
+     */
+    public synchronized int[] load(String datasetType, int size, long seed) {
+        Path path = pathFor(datasetType, size, seed);
+        try {
+            int[] cached = read(path, size, seed);
+            if (cached != null) {
+                hits++;
+                touch(path);
+                return cached;
+            }
+
+            misses++;
+            int[] dataset = DatasetGenerator.generateDataset(size, datasetType, seed);
+            store(path, dataset, seed);
+            return dataset;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro no cache de datasets: " + path, e);
+        }
+    }
+
+    /**
+     * Visão somente leitura do dataset mapeado direto do arquivo, sem cópia
+     * para o heap. Limitada a datasets de até 2 GiB.
+     */
+    public synchronized IntBuffer map(String datasetType, int size, long seed) {
+        if ((long) size * 4 > Integer.MAX_VALUE - HEADER_BYTES) {
+            throw new IllegalArgumentException("Dataset grande demais para um único mapeamento: " + size);
+        }
+
+        Path path = pathFor(datasetType, size, seed);
+        try {
+            IntBuffer cached = mapValid(path, size, seed);
+            if (cached != null) {
+                hits++;
+                touch(path);
+                return cached;
+            }
+
+            misses++;
+            store(path, DatasetGenerator.generateDataset(size, datasetType, seed), seed);
+            IntBuffer stored = mapValid(path, size, seed);
+            if (stored == null) {
+                throw new IOException("Dataset recém-gravado não pôde ser validado");
+            }
+            return stored;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro no cache de datasets: " + path, e);
+        }
+    }
+
+    /**
+     * null quando o arquivo não existe ou é inválido (neste caso ele é removido).
+     * Validação e cópia usam o mesmo canal: o arquivo só é trocado por rename,
+     * então o canal aberto enxerga uma única versão, e o checksum é calculado
+     * sobre as mesmas janelas mapeadas que são copiadas.
+     */
+    private int[] read(Path path, int size, long seed) throws IOException {
+        FileChannel channel = openIfExists(path);
+        if (channel == null) {
+            return null;
+        }
+
+        try (channel) {
+            long storedChecksum = checkHeader(channel, size, seed);
+            if (storedChecksum >= 0) {
+                int[] dataset = new int[size];
+                CRC32C crc = new CRC32C();
+                long dataBytes = (long) size * 4;
+                int position = 0;
+                for (long offset = 0; offset < dataBytes; offset += WINDOW_BYTES) {
+                    MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offset,
+                            Math.min(WINDOW_BYTES, dataBytes - offset));
+                    IntBuffer ints = window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                    if (verify) {
+                        crc.update(window);
+                    }
+                    int count = ints.remaining();
+                    ints.get(dataset, position, count);
+                    position += count;
+                }
+                if (!verify || crc.getValue() == storedChecksum) {
+                    return dataset;
+                }
+            }
+        }
+
+        discard(path);
+        return null;
+    }
+
+    // Como read(), mas devolve o próprio mapeamento, que continua válido após fechar o canal
+    private IntBuffer mapValid(Path path, int size, long seed) throws IOException {
+        FileChannel channel = openIfExists(path);
+        if (channel == null) {
+            return null;
+        }
+
+        try (channel) {
+            long storedChecksum = checkHeader(channel, size, seed);
+            if (storedChecksum >= 0) {
+                MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (long) size * 4);
+                CRC32C crc = new CRC32C();
+                if (verify) {
+                    crc.update(data.duplicate());
+                }
+                if (!verify || crc.getValue() == storedChecksum) {
+                    return data.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                }
+            }
+        }
+
+        discard(path);
+        return null;
+    }
+
+    private static FileChannel openIfExists(Path path) throws IOException {
+        try {
+            return FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    // CRC32C gravado no cabeçalho, ou -1 quando o cabeçalho não confere com (tamanho, semente)
+    private static long checkHeader(FileChannel channel, int size, long seed) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        boolean valid = channel.read(header, 0) == HEADER_BYTES
+                && header.getInt(0) == MAGIC
+                && header.getInt(4) == FORMAT_VERSION
+                && header.getInt(8) == size
+                && header.getLong(16) == seed
+                && channel.size() == HEADER_BYTES + (long) size * 4;
+        return valid ? header.getLong(24) : -1;
+    }
+
+    private static void discard(Path path) throws IOException {
+        System.out.println("Cache de datasets: descartando arquivo inválido " + path.getFileName());
+        Files.deleteIfExists(path);
+    }
+
+    private void store(Path path, int[] dataset, long seed) throws IOException {
+        Path temp = Files.createTempFile(directory, "dataset", ".tmp");
+        try {
+            CRC32C crc = new CRC32C();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_BYTES);
+
+                ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                int position = 0;
+                while (position < dataset.length) {
+                    int count = Math.min(CHUNK_BYTES / 4, dataset.length - position);
+                    chunk.clear();
+                    chunk.asIntBuffer().put(dataset, position, count);
+                    chunk.limit(count * 4);
+                    crc.update(chunk);
+                    chunk.flip();
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                    position += count;
+                }
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(dataset.length).putInt(0)
+                        .putLong(seed).putLong(crc.getValue()).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            }
+
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        evict(path);
+    }
+
+    private static void touch(Path path) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    // Remove os datasets menos usados até caber em maxBytes; o recém-gravado nunca sai
+    // Arquivos removidos por outro processo no meio da varredura são ignorados
+    private void evict(Path keep) throws IOException {
+        Map<Path, Long> sizes = new HashMap<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : stream) {
+                try {
+                    long bytes = Files.size(file);
+                    sizes.put(file, bytes);
+                    total += bytes;
+                } catch (NoSuchFileException e) {
+                    // Já removido
+                }
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+
+        List<Path> files = new ArrayList<>(sizes.keySet());
+        files.sort(Comparator.comparing(DatasetCache::lastAccess));
+        for (Path file : files) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (!file.equals(keep)) {
+                // Removido aqui ou por outro processo, o espaço foi liberado de qualquer forma
+                Files.deleteIfExists(file);
+                total -= sizes.get(file);
+            }
+        }
+    }
+
+    private static FileTime lastAccess(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -7,9 +7,18 @@ public class DatasetGenerator {
     private static final Random random = new Random(42);
 
     public static int[] generateDataset(int size, String datasetType) {
+        return generateDataset(size, datasetType, random);
+    }
+
+    // Versão determinística: o mesmo (tamanho, tipo, semente) gera sempre o mesmo dataset
+    public static int[] generateDataset(int size, String datasetType, long seed) {
+        return generateDataset(size, datasetType, new Random(seed));
+    }
+
+    private static int[] generateDataset(int size, String datasetType, Random random) {
         switch (datasetType) {
             case "random":
-                return generateRandom(size);
+                return generateRandom(size, random);
             case "sorted":
                 return generateSorted(size);
             case "reverse_sorted":
@@ -17,13 +26,13 @@ public class DatasetGenerator {
             case "partially_sorted":
                 return generatePartiallySorted(size);
             case "duplicates":
-                return generateDuplicates(size);
+                return generateDuplicates(size, random);
             default:
                 throw new IllegalArgumentException("Tipo de dataset desconhecido: " + datasetType);
         }
     }
 
-    private static int[] generateRandom(int size) {
+    private static int[] generateRandom(int size, Random random) {
         int[] arr = new int[size];
         for (int i = 0; i < size; i++) {
             arr[i] = random.nextInt(size * 10);
@@ -58,7 +67,7 @@ public class DatasetGenerator {
         return arr;
     }
 
-    private static int[] generateDuplicates(int size) {
+    private static int[] generateDuplicates(int size, Random random) {
         int[] arr = new int[size];
         for (int i = 0; i < size; i++) {
             arr[i] = random.nextInt(size / 10);
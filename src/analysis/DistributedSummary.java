@@ -0,0 +1,53 @@
+package analysis;
+
+import distributed.DistributedSort;
+import java.util.Arrays;
+
+public class DistributedSummary {
+    private double distributeTime;
+    private double sampleTime;
+    private double shuffleTime;
+    private double localSortTime;
+    private double collectTime;
+    private long distributeBytes;
+    private long shuffleBytes;
+    private long collectBytes;
+    private double maxWorkerSortTime;
+    private double partitionSkew;
+
+    public DistributedSummary(double distributeTime, double sampleTime, double shuffleTime,
+                              double localSortTime, double collectTime, long distributeBytes,
+                              long shuffleBytes, long collectBytes, double maxWorkerSortTime,
+                              double partitionSkew) {
+        this.distributeTime = distributeTime;
+        this.sampleTime = sampleTime;
+        this.shuffleTime = shuffleTime;
+        this.localSortTime = localSortTime;
+        this.collectTime = collectTime;
+        this.distributeBytes = distributeBytes;
+        this.shuffleBytes = shuffleBytes;
+        this.collectBytes = collectBytes;
+        this.maxWorkerSortTime = maxWorkerSortTime;
+        this.partitionSkew = partitionSkew;
+    }
+
+    // Congela as métricas por fase de uma execução distribuída (sem a saída ordenada)
+    public static DistributedSummary of(DistributedSort.Report report) {
+        return new DistributedSummary(report.getDistributeTime(), report.getSampleTime(),
+                report.getShuffleTime(), report.getSortTime(), report.getCollectTime(),
+                report.getDistributeBytes(), report.getShuffleBytes(), report.getCollectBytes(),
+                Arrays.stream(report.getWorkerSortTimes()).max().orElse(0), report.getSkew());
+    }
+
+    // Getters
+    public double getDistributeTime() { return distributeTime; }
+    public double getSampleTime() { return sampleTime; }
+    public double getShuffleTime() { return shuffleTime; }
+    public double getLocalSortTime() { return localSortTime; }
+    public double getCollectTime() { return collectTime; }
+    public long getDistributeBytes() { return distributeBytes; }
+    public long getShuffleBytes() { return shuffleBytes; }
+    public long getCollectBytes() { return collectBytes; }
+    public double getMaxWorkerSortTime() { return maxWorkerSortTime; }
+    public double getPartitionSkew() { return partitionSkew; }
+}
@@ -1,27 +1,85 @@
 package analysis;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.*;
+import distributed.DistributedSort;
 import sorting.algorithms.*;
 import sorting.parallel.*;
 
-public class PerformanceAnalyzer {
-    private List<SortResult> results;
+public class PerformanceAnalyzer implements AutoCloseable {
+    private static final String[] ALGORITHMS = {"bubble", "quick", "merge", "insertion"};
+
+    // Resultados vão direto para o log binário: nada é acumulado em memória
+    private final Path resultsPath;
+    private final ResultLog results;
+    private boolean tracingEnabled;
+    private DatasetCache datasetCache;
+    private int currentConfig;
+    private int totalConfigs;
 
     public PerformanceAnalyzer() {
-        this.results = Collections.synchronizedList(new ArrayList<>());
+        this(createTempResultsFile());
+    }
+
+    public PerformanceAnalyzer(String resultsFile) {
+        this(Paths.get(resultsFile));
+    }
+
+    private PerformanceAnalyzer(Path resultsPath) {
+        this.resultsPath = resultsPath;
+        try {
+            this.results = new ResultLog(resultsPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao criar arquivo de resultados: " + resultsPath, e);
+        }
+    }
+
+    private static Path createTempResultsFile() {
+        try {
+            Path path = Files.createTempFile("sort-results", ".bin");
+            path.toFile().deleteOnExit();
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao criar arquivo temporário de resultados", e);
+        }
+    }
+
+    // Liga a instrumentação das tarefas fork-join; desligada, os sorts paralelos não coletam nada
+    public void setTracingEnabled(boolean tracingEnabled) {
+        this.tracingEnabled = tracingEnabled;
+    }
+
+    /**
+     * Cada amostra usa a semente igual ao seu índice, com ou sem cache; com
+     * cache o dataset é lido do disco em vez de gerado, e na análise
+     * distribuída os workers leem seus shards direto do arquivo.
+     */
+    public void setDatasetCache(DatasetCache datasetCache) {
+        this.datasetCache = datasetCache;
     }
 
     public void runAnalysis(int[] datasetSizes, int numSamples, int maxThreads, String[] datasetTypes) {
+        runAnalysis(datasetSizes, numSamples, defaultThreadCounts(maxThreads), datasetTypes);
+    }
+
+    public void runAnalysis(int[] datasetSizes, int numSamples, int[] threadCounts, String[] datasetTypes) {
+        int[] parallelThreads = parallelThreadCounts(threadCounts);
+
         System.out.println("Iniciando análise de desempenho...");
         System.out.println("Tamanhos de dataset: " + Arrays.toString(datasetSizes));
         System.out.println("Tipos de dataset: " + Arrays.toString(datasetTypes));
-        System.out.println("Máximo de threads: " + maxThreads);
+        System.out.println("Threads: " + Arrays.toString(parallelThreads));
         System.out.println("Amostras por configuração: " + numSamples);
         System.out.println("=" .repeat(60));
 
-        int totalConfigs = calculateTotalConfigurations(datasetSizes, datasetTypes, numSamples, maxThreads);
-        int currentConfig = 0;
+        currentConfig = 0;
+        totalConfigs = calculateTotalConfigurations(datasetSizes.length, datasetTypes.length, numSamples,
+                parallelThreads.length);
 
         for (int size : datasetSizes) {
             System.out.println("\nAnalisando tamanho: " + size);
@@ -30,41 +88,260 @@ public class PerformanceAnalyzer {
                 System.out.println("  Tipo: " + datasetType);
 
                 for (int sample = 0; sample < numSamples; sample++) {
-                    int[] dataset = DatasetGenerator.generateDataset(size, datasetType);
+                    int[] dataset = generateDataset(size, datasetType, sample);
 
                     // Testar algoritmos seriais
-                    testAlgorithm("bubble", "serial", dataset, datasetType, 1, ++currentConfig, totalConfigs);
-                    testAlgorithm("quick", "serial", dataset, datasetType, 1, ++currentConfig, totalConfigs);
-                    testAlgorithm("merge", "serial", dataset, datasetType, 1, ++currentConfig, totalConfigs);
-                    testAlgorithm("insertion", "serial", dataset, datasetType, 1, ++currentConfig, totalConfigs);
+                    testAllAlgorithms("serial", dataset, datasetType, 1);
 
                     // Testar algoritmos paralelos
-                    for (int numThreads : new int[]{2, 4}) {
-                        if (numThreads <= maxThreads) {
-                            testAlgorithm("bubble", "parallel", dataset, datasetType, numThreads, ++currentConfig, totalConfigs);
-                            testAlgorithm("quick", "parallel", dataset, datasetType, numThreads, ++currentConfig, totalConfigs);
-                            testAlgorithm("merge", "parallel", dataset, datasetType, numThreads, ++currentConfig, totalConfigs);
-                            testAlgorithm("insertion", "parallel", dataset, datasetType, numThreads, ++currentConfig, totalConfigs);
-                        }
+                    for (int numThreads : parallelThreads) {
+                        testAllAlgorithms("parallel", dataset, datasetType, numThreads);
                     }
                 }
             }
         }
 
+        flushResults();
         System.out.println("\nAnálise concluída!");
+        printDatasetCacheSummary();
+    }
+
+    /**
+     * Varredura de escalonamento. No modo forte todas as execuções usam
+     * {@code baseSize}; no fraco, cada número de threads p usa {@code baseSize * p}
+     * e a linha de base serial é medida em cada tamanho, para o speedup escalado.
+     */
+    public void runScalingSweep(ScalingMode mode, int baseSize, int[] threadCounts,
+                                int numSamples, String[] datasetTypes) {
+        int[] parallelThreads = parallelThreadCounts(threadCounts);
+
+        System.out.println("Iniciando varredura de escalonamento " + (mode == ScalingMode.STRONG ? "forte" : "fraco") + "...");
+        System.out.println("Tamanho base: " + baseSize);
+        System.out.println("Tipos de dataset: " + Arrays.toString(datasetTypes));
+        System.out.println("Threads: " + Arrays.toString(parallelThreads));
+        System.out.println("Amostras por configuração: " + numSamples);
+        System.out.println("=" .repeat(60));
+
+        currentConfig = 0;
+        int serialSizes = mode == ScalingMode.STRONG ? 1 : parallelThreads.length + 1;
+        totalConfigs = datasetTypes.length * numSamples * ALGORITHMS.length * (serialSizes + parallelThreads.length);
+
+        for (String datasetType : datasetTypes) {
+            System.out.println("\nTipo: " + datasetType);
+
+            if (mode == ScalingMode.STRONG) {
+                for (int sample = 0; sample < numSamples; sample++) {
+                    int[] dataset = generateDataset(baseSize, datasetType, sample);
+                    testAllAlgorithms("serial", dataset, datasetType, 1);
+                    for (int numThreads : parallelThreads) {
+                        testAllAlgorithms("parallel", dataset, datasetType, numThreads);
+                    }
+                }
+            } else {
+                // Linha de base serial no tamanho base (p = 1)
+                for (int sample = 0; sample < numSamples; sample++) {
+                    testAllAlgorithms("serial", generateDataset(baseSize, datasetType, sample), datasetType, 1);
+                }
+
+                for (int numThreads : parallelThreads) {
+                    int size = mode.sizeFor(baseSize, numThreads);
+                    System.out.println("  " + numThreads + " threads, tamanho " + size);
+
+                    for (int sample = 0; sample < numSamples; sample++) {
+                        int[] dataset = generateDataset(size, datasetType, sample);
+                        testAllAlgorithms("serial", dataset, datasetType, 1);
+                        testAllAlgorithms("parallel", dataset, datasetType, numThreads);
+                    }
+                }
+            }
+        }
+
+        flushResults();
+        System.out.println("\nVarredura concluída!");
+        printDatasetCacheSummary();
+    }
+
+    /**
+     * Modo de vazão para muitos arrays pequenos: ordena {@code numArrays}
+     * arrays com tamanhos aleatórios em [minSize, maxSize] via
+     * {@link ParallelBatchSort} e reporta arrays/s e elementos/s. Grava uma
+     * linha "batch" por amostra com chave estável entre execuções:
+     * dataset_size = numArrays e dataset_type = "tipo_min-max" (o total de
+     * elementos varia a cada amostra e fica só na saída impressa).
+     */
+    public void runBatchAnalysis(int numArrays, int minSize, int maxSize, int[] threadCounts,
+                                 int numSamples, String datasetType) {
+        if (numArrays < 1) {
+            throw new IllegalArgumentException("Número de arrays por lote deve ser positivo: " + numArrays);
+        }
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException(
+                    "Faixa de tamanhos inválida: mínimo " + minSize + ", máximo " + maxSize + " (exige 0 <= mínimo <= máximo)");
+        }
+        int[] counts = Arrays.stream(threadCounts).filter(t -> t >= 1).distinct().sorted().toArray();
+
+        System.out.println("Iniciando análise de ordenação em lote...");
+        System.out.printf("Arrays por lote: %d, tamanhos: %d a %d, tipo: %s%n", numArrays, minSize, maxSize, datasetType);
+        System.out.println("Threads: " + Arrays.toString(counts));
+        System.out.println("=" .repeat(60));
+
+        Random sizes = new Random(42);
+        for (int sample = 0; sample < numSamples; sample++) {
+            int[][] batch = new int[numArrays][];
+            long totalElements = 0;
+            for (int i = 0; i < numArrays; i++) {
+                batch[i] = DatasetGenerator.generateDataset(minSize + sizes.nextInt(maxSize - minSize + 1), datasetType);
+                totalElements += batch[i].length;
+            }
+
+            for (int numThreads : counts) {
+                int[][] copy = new int[numArrays][];
+                for (int i = 0; i < numArrays; i++) {
+                    copy[i] = DatasetGenerator.copyArray(batch[i]);
+                }
+
+                ResourceMonitor monitor = ResourceMonitor.start();
+                long startTime = System.nanoTime();
+                ParallelBatchSort.sortAll(copy, numThreads);
+                long endTime = System.nanoTime();
+                ResourceUsage resourceUsage = monitor.stop();
+
+                boolean isSorted = true;
+                for (int[] array : copy) {
+                    isSorted &= DatasetGenerator.isSorted(array);
+                }
+
+                double executionTime = (endTime - startTime) / 1_000_000_000.0;
+                System.out.printf("    amostra %d, %d threads: %.0f arrays/s, %.0f elementos/s%s%n",
+                        sample + 1, numThreads, numArrays / executionTime, totalElements / executionTime,
+                        isSorted ? "" : " (NÃO ORDENADO)");
+
+                SortResult sortResult = new SortResult(
+                        "batch", numThreads == 1 ? "serial" : "parallel", numArrays,
+                        datasetType + "_" + minSize + "-" + maxSize, numThreads, executionTime, isSorted,
+                        System.currentTimeMillis()
+                );
+                sortResult.setResourceUsage(resourceUsage);
+                appendResult(sortResult);
+            }
+        }
+
+        flushResults();
+        System.out.println("\nAnálise em lote concluída!");
+    }
+
+    /**
+     * Ordenação distribuída entre processos worker locais ({@link DistributedSort}).
+     * Para cada quantidade de workers reporta os tempos por fase (amostragem,
+     * shuffle, ordenação local) e os bytes movidos. Grava uma linha
+     * ("distributed_merge" ou "distributed_quick") por amostra, com threads = workers e tempo =
+     * amostragem + shuffle + ordenação local.
+     */
+    public void runDistributedAnalysis(int datasetSize, int[] workerCounts, int threadsPerWorker,
+                                       int numSamples, String datasetType, String algorithm) {
+        int[] counts = Arrays.stream(workerCounts).filter(w -> w >= 1).distinct().sorted().toArray();
+
+        System.out.println("Iniciando análise de ordenação distribuída...");
+        System.out.printf("Tamanho: %d, tipo: %s, algoritmo local: %s, threads por worker: %d%n",
+                datasetSize, datasetType, algorithm, threadsPerWorker);
+        System.out.println("Workers: " + Arrays.toString(counts));
+        System.out.println("=" .repeat(60));
+
+        // Com cache, o coordenador não gera nem guarda o dataset: os workers o mapeiam do disco
+        int[] dataset = datasetCache == null ? generateDataset(datasetSize, datasetType, 0) : null;
+        for (int numWorkers : counts) {
+            try (DistributedSort sorter = new DistributedSort(numWorkers, threadsPerWorker)) {
+                for (int sample = 0; sample < numSamples; sample++) {
+                    DistributedSort.Report report = dataset != null
+                            ? sorter.sort(dataset, algorithm)
+                            : sorter.sort(datasetCache, datasetType, datasetSize, 0, algorithm);
+                    boolean isSorted = report.getOutput().length == datasetSize
+                            && DatasetGenerator.isSorted(report.getOutput());
+                    report.print();
+                    if (!isSorted) {
+                        System.out.println("    (NÃO ORDENADO)");
+                    }
+
+                    SortResult result = new SortResult(
+                            "distributed_" + algorithm, "distributed", datasetSize, datasetType,
+                            numWorkers, report.getTotalTime(), isSorted, System.currentTimeMillis()
+                    );
+                    result.setDistributed(DistributedSummary.of(report));
+                    appendResult(result);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro na ordenação distribuída com " + numWorkers + " workers", e);
+            }
+        }
+
+        flushResults();
+        System.out.println("\nAnálise distribuída concluída!");
+        printDatasetCacheSummary();
+    }
+
+    // Potências de dois até maxThreads, mais o próprio maxThreads quando não for potência de dois
+    public static int[] defaultThreadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int t = 1; t <= maxThreads; t *= 2) {
+            counts.add(t);
+        }
+        if (maxThreads > 1 && Integer.bitCount(maxThreads) != 1) {
+            counts.add(maxThreads);
+        }
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static int[] defaultThreadCounts() {
+        return defaultThreadCounts(Runtime.getRuntime().availableProcessors());
+    }
+
+    // A contagem 1 corresponde à versão serial, medida à parte
+    private static int[] parallelThreadCounts(int[] threadCounts) {
+        return Arrays.stream(threadCounts).filter(t -> t > 1).distinct().sorted().toArray();
+    }
+
+    private int[] generateDataset(int size, String datasetType, int sample) {
+        return datasetCache != null
+                ? datasetCache.load(datasetType, size, sample)
+                : DatasetGenerator.generateDataset(size, datasetType, sample);
+    }
+
+    private void printDatasetCacheSummary() {
+        if (datasetCache != null) {
+            System.out.printf("Cache de datasets: %d acertos, %d faltas%n",
+                    datasetCache.getHits(), datasetCache.getMisses());
+        }
+    }
+
+    private void testAllAlgorithms(String version, int[] dataset, String datasetType, int numThreads) {
+        for (String algorithm : ALGORITHMS) {
+            testAlgorithm(algorithm, version, dataset, datasetType, numThreads);
+        }
+    }
+
+    private void flushResults() {
+        try {
+            results.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar resultados", e);
+        }
     }
 
     private void testAlgorithm(String algorithm, String version, int[] dataset,
-                               String datasetType, int numThreads, int currentConfig, int totalConfigs) {
+                               String datasetType, int numThreads) {
         System.out.printf("    [%d/%d] %s %s (%d threads)...%n",
-                currentConfig, totalConfigs, algorithm, version, numThreads);
+                ++currentConfig, totalConfigs, algorithm, version, numThreads);
+
+        SortTrace trace = tracingEnabled && version.equals("parallel") ? new SortTrace(algorithm) : null;
 
+        // Snapshot dos MXBeans fora da janela cronometrada
+        ResourceMonitor monitor = ResourceMonitor.start();
         long startTime = System.nanoTime();
         int[] result = null;
         boolean isSorted = false;
 
         try {
-            result = executeSort(algorithm, version, dataset, numThreads);
+            result = executeSort(algorithm, version, dataset, numThreads, trace);
             isSorted = DatasetGenerator.isSorted(result);
         } catch (Exception e) {
             System.out.println("      Erro: " + e.getMessage());
@@ -72,65 +349,108 @@ public class PerformanceAnalyzer {
         }
 
         long endTime = System.nanoTime();
+        ResourceUsage resourceUsage = monitor.stop();
         double executionTime = (endTime - startTime) / 1_000_000_000.0;
 
         SortResult sortResult = new SortResult(
                 algorithm, version, dataset.length, datasetType,
                 numThreads, executionTime, isSorted, System.currentTimeMillis()
         );
+        // Sem pool (fallback serial para entradas pequenas) as colunas de trace ficam vazias
+        sortResult.setTrace(trace != null && trace.isForkJoinUsed() ? TraceSummary.of(trace) : null);
+        sortResult.setResourceUsage(resourceUsage);
+
+        appendResult(sortResult);
+    }
 
-        results.add(sortResult);
+    private void appendResult(SortResult sortResult) {
+        try {
+            results.append(sortResult);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar resultado", e);
+        }
     }
 
-    private int[] executeSort(String algorithm, String version, int[] dataset, int numThreads) {
+    private int[] executeSort(String algorithm, String version, int[] dataset, int numThreads, SortTrace trace) {
         switch (algorithm) {
             case "bubble":
                 return version.equals("serial") ?
                         BubbleSort.sort(dataset) :
-                        ParallelBubbleSort.sort(dataset, numThreads);
+                        ParallelBubbleSort.sort(dataset, numThreads, trace);
 
             case "quick":
                 return version.equals("serial") ?
                         QuickSort.sort(dataset) :
-                        ParallelQuickSort.sort(dataset, numThreads);
+                        ParallelQuickSort.sort(dataset, numThreads, trace);
 
             case "merge":
                 return version.equals("serial") ?
                         MergeSort.sort(dataset) :
-                        ParallelMergeSort.sort(dataset, numThreads);
+                        ParallelMergeSort.sort(dataset, numThreads, trace);
 
             case "insertion":
                 return version.equals("serial") ?
                         InsertionSort.sort(dataset) :
-                        ParallelInsertionSort.sort(dataset, numThreads);
+                        ParallelInsertionSort.sort(dataset, numThreads, trace);
 
             default:
                 throw new IllegalArgumentException("Algoritmo desconhecido: " + algorithm);
         }
     }
 
-    private int calculateTotalConfigurations(int[] datasetSizes, String[] datasetTypes,
-                                             int numSamples, int maxThreads) {
-        int algorithmsCount = 4;
-        int serialConfigs = datasetSizes.length * datasetTypes.length * numSamples * algorithmsCount;
-        int parallelThreads = Math.min(2, maxThreads); // Considera apenas 2 e 4 threads
-        int parallelConfigs = datasetSizes.length * datasetTypes.length * numSamples * algorithmsCount * parallelThreads;
+    private int calculateTotalConfigurations(int sizesCount, int typesCount, int numSamples, int parallelThreadsCount) {
+        int serialConfigs = sizesCount * typesCount * numSamples * ALGORITHMS.length;
+        int parallelConfigs = serialConfigs * parallelThreadsCount;
         return serialConfigs + parallelConfigs;
     }
 
     public void saveToCSV(String filename) {
         try (java.io.PrintWriter writer = new java.io.PrintWriter(filename)) {
             writer.println(SortResult.getCSVHeader());
-            for (SortResult result : results) {
-                writer.println(result.toString());
-            }
+            results.flush();
+            new ResultLogReader(resultsPath).forEach(result -> writer.println(result.toString()));
             System.out.println("Resultados salvos em: " + filename);
-        } catch (java.io.FileNotFoundException e) {
+        } catch (IOException e) {
             System.out.println("Erro ao salvar arquivo: " + e.getMessage());
         }
     }
 
+    /**
+     * Cubo agregado lendo o log em fluxo, sem materializar os {@link SortResult}.
+     * Cada célula ainda guarda um double por linha (para mediana e percentis),
+     * então a memória é O(linhas) em doubles, bem menor que a {@link #getResults()}.
+     */
+    public ResultCube buildCube() {
+        ResultCube cube = new ResultCube();
+        forEachResult(cube::add);
+        return cube;
+    }
+
+    public void forEachResult(java.util.function.Consumer<SortResult> consumer) {
+        try {
+            results.flush();
+            new ResultLogReader(resultsPath).forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler resultados: " + resultsPath, e);
+        }
+    }
+
+    // Carrega todas as linhas: O(n) de heap, só para relatórios que precisam de cada resultado
     public List<SortResult> getResults() {
-        return new ArrayList<>(results);
+        try {
+            results.flush();
+            return new ResultLogReader(resultsPath).readAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler resultados: " + resultsPath, e);
+        }
+    }
+
+    public Path getResultsPath() {
+        return resultsPath;
+    }
+
+    @Override
+    public void close() throws IOException {
+        results.close();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,233 @@
+package analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara uma execução com uma execução de referência (baseline), por
+ * configuração (algoritmo, versão, tamanho, tipo, threads).
+ *
+ * Uma configuração regrediu quando o teste de Mann-Whitney unilateral indica
+ * tempos maiores (p < {@code alpha}) e a mediana piorou mais que
+ * {@code threshold} (efeito mínimo, ex.: 0.10 = 10%). O teste usa só postos,
+ * então é robusto a outliers como pausas de GC isoladas.
+ *
+ * Com poucas amostras o teste não alcança {@code alpha} nem com as amostras
+ * totalmente separadas (3 contra 3: p mínimo = 1/C(6,3) = 0.05). Nesses casos
+ * a configuração é marcada como sem poder estatístico e decidida só pelo limiar.
+ */
+public class RegressionGate {
+    // Acima disso a distribuição exata de U é trocada pela aproximação normal
+    private static final int EXACT_MAX_SAMPLES = 20;
+
+    private final double threshold;
+    private final double alpha;
+
+    public RegressionGate(double threshold, double alpha) {
+        this.threshold = threshold;
+        this.alpha = alpha;
+    }
+
+    public static class Comparison {
+        private final ResultCube.Key key;
+        private final ResultCube.Stats baseline;
+        private final ResultCube.Stats current;
+        private final double relativeChange;
+        private final double pValue;
+        private final boolean underpowered;
+        private final boolean regression;
+
+        Comparison(ResultCube.Key key, ResultCube.Stats baseline, ResultCube.Stats current,
+                   double relativeChange, double pValue, boolean underpowered, boolean regression) {
+            this.key = key;
+            this.baseline = baseline;
+            this.current = current;
+            this.relativeChange = relativeChange;
+            this.pValue = pValue;
+            this.underpowered = underpowered;
+            this.regression = regression;
+        }
+
+        // Getters
+        public ResultCube.Key getKey() { return key; }
+        public ResultCube.Stats getBaseline() { return baseline; }
+        public ResultCube.Stats getCurrent() { return current; }
+        public double getRelativeChange() { return relativeChange; }
+        public double getPValue() { return pValue; }
+        public boolean isUnderpowered() { return underpowered; }
+        public boolean isRegression() { return regression; }
+    }
+
+    public List<Comparison> compare(ResultCube baseline, ResultCube current) {
+        List<Comparison> comparisons = new ArrayList<>();
+        Map<ResultCube.Key, ResultCube.Stats> baselineCells = baseline.rollUp(k -> true, k -> k);
+
+        for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : baselineCells.entrySet()) {
+            ResultCube.Key key = entry.getKey();
+            ResultCube.Stats currentStats = current.get(key.getAlgorithm(), key.getVersion(),
+                    key.getDatasetSize(), key.getDatasetType(), key.getNumThreads());
+            if (currentStats == null) {
+                continue;
+            }
+
+            ResultCube.Stats baselineStats = entry.getValue();
+            double relativeChange = currentStats.getMedian() / baselineStats.getMedian() - 1.0;
+            double pValue = mannWhitneyGreater(baselineStats.getSamples(), currentStats.getSamples());
+            boolean underpowered = minimumPValue(baselineStats.getCount(), currentStats.getCount()) >= alpha;
+            boolean regression = relativeChange > threshold && (underpowered || pValue < alpha);
+
+            comparisons.add(new Comparison(key, baselineStats, currentStats, relativeChange, pValue,
+                    underpowered, regression));
+        }
+
+        return comparisons;
+    }
+
+    // Retorna true se alguma configuração regrediu
+    public boolean printReport(List<Comparison> comparisons) {
+        System.out.println("\n=== RELATÓRIO DE REGRESSÃO ===");
+        System.out.printf("Limiar: +%.1f%% na mediana, alpha = %.3f%n", threshold * 100, alpha);
+
+        int regressions = 0;
+        int underpowered = 0;
+        for (Comparison c : comparisons) {
+            ResultCube.Key key = c.getKey();
+            String status = c.isRegression() ? "REGRESSÃO" :
+                    (c.getRelativeChange() < -threshold && c.getPValue() > 1 - alpha) ? "melhora" : "ok";
+            if (c.isRegression()) {
+                regressions++;
+            }
+            if (c.isUnderpowered()) {
+                underpowered++;
+            }
+            System.out.printf("  %-9s %s %s n=%d %s %dt: %.6f s -> %.6f s (%+.1f%%, p=%.4f, amostras %d/%d)%s%n",
+                    status, key.getAlgorithm(), key.getVersion(), key.getDatasetSize(), key.getDatasetType(),
+                    key.getNumThreads(), c.getBaseline().getMedian(), c.getCurrent().getMedian(),
+                    c.getRelativeChange() * 100, c.getPValue(),
+                    c.getBaseline().getCount(), c.getCurrent().getCount(),
+                    c.isUnderpowered() ? " [só limiar]" : "");
+        }
+
+        System.out.printf("%nConfigurações comparadas: %d, regressões: %d%n", comparisons.size(), regressions);
+        if (underpowered > 0) {
+            System.out.printf("⚠️  %d configurações sem amostras suficientes para p < %.3f: decididas só pelo limiar "
+                    + "de %.1f%%. Use mais amostras por lado (5 contra 5 já permite p < 0.01).%n",
+                    underpowered, alpha, threshold * 100);
+        }
+        return regressions > 0;
+    }
+
+    // Menor p-valor alcançável com n e m amostras: todas as atuais acima de todas as de referência
+    static double minimumPValue(int n, int m) {
+        double[] baseline = new double[n];
+        double[] current = new double[m];
+        for (int i = 0; i < n; i++) {
+            baseline[i] = i;
+        }
+        for (int i = 0; i < m; i++) {
+            current[i] = n + i;
+        }
+        return mannWhitneyGreater(baseline, current);
+    }
+
+    /**
+     * p-valor unilateral do teste de Mann-Whitney para H1: {@code current}
+     * tende a ser maior que {@code baseline}. Usa a distribuição exata de U
+     * para amostras pequenas sem empates e a aproximação normal (com correção
+     * de empates e de continuidade) nos demais casos.
+     */
+    static double mannWhitneyGreater(double[] baseline, double[] current) {
+        int n = baseline.length;
+        int m = current.length;
+        if (n == 0 || m == 0) {
+            return 1.0;
+        }
+
+        double[] all = new double[n + m];
+        System.arraycopy(baseline, 0, all, 0, n);
+        System.arraycopy(current, 0, all, n, m);
+        double[] sorted = all.clone();
+        Arrays.sort(sorted);
+
+        // Postos médios e termo de correção de empates
+        double rankSumCurrent = 0;
+        for (int i = n; i < n + m; i++) {
+            rankSumCurrent += midRank(sorted, all[i]);
+        }
+        double tieTerm = 0;
+        boolean ties = false;
+        for (int i = 0; i < sorted.length; ) {
+            int j = i;
+            while (j < sorted.length && sorted[j] == sorted[i]) j++;
+            int t = j - i;
+            if (t > 1) {
+                ties = true;
+                tieTerm += (double) t * t * t - t;
+            }
+            i = j;
+        }
+
+        // U = número de pares (atual, baseline) em que o atual é maior
+        double u = rankSumCurrent - m * (m + 1) / 2.0;
+
+        if (!ties && n + m <= EXACT_MAX_SAMPLES) {
+            return exactUpperTail((int) Math.round(u), m, n);
+        }
+
+        int total = n + m;
+        double mean = n * (double) m / 2.0;
+        double variance = n * (double) m / 12.0 * ((total + 1) - tieTerm / (total * (double) (total - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 0.5 * erfc(z / Math.sqrt(2));
+    }
+
+    private static double midRank(double[] sorted, double value) {
+        int lo = Arrays.binarySearch(sorted, value);
+        int first = lo, last = lo;
+        while (first > 0 && sorted[first - 1] == value) first--;
+        while (last < sorted.length - 1 && sorted[last + 1] == value) last++;
+        return (first + last) / 2.0 + 1;
+    }
+
+    // P(U >= u) sob H0, contando os arranjos com c(u, m, n) = c(u - n, m - 1, n) + c(u, m, n - 1)
+    private static double exactUpperTail(int u, int m, int n) {
+        int maxU = m * n;
+        double[][][] counts = new double[m + 1][n + 1][maxU + 1];
+        for (int i = 0; i <= m; i++) {
+            for (int j = 0; j <= n; j++) {
+                if (i == 0 || j == 0) {
+                    counts[i][j][0] = 1;
+                    continue;
+                }
+                for (int k = 0; k <= i * j; k++) {
+                    double withCurrentLast = k >= j ? counts[i - 1][j][k - j] : 0;
+                    counts[i][j][k] = withCurrentLast + counts[i][j - 1][k];
+                }
+            }
+        }
+
+        double total = 0, tail = 0;
+        for (int k = 0; k <= maxU; k++) {
+            total += counts[m][n][k];
+            if (k >= u) {
+                tail += counts[m][n][k];
+            }
+        }
+        return tail / total;
+    }
+
+    // Aproximação de Numerical Recipes (erro relativo < 1.2e-7)
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1.0 / (1.0 + 0.5 * z);
+        double r = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2.0 - r;
+    }
+}
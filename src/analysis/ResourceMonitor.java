@@ -0,0 +1,120 @@
+package analysis;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Mede o consumo de recursos da JVM entre {@link #start()} e {@link #stop()}.
+ *
+ * Os workers do ForkJoinPool terminam quando o pool é fechado, então a alocação
+ * é medida pelo total de bytes alocados por todas as threads (inclusive as que
+ * já terminaram) e o tempo de CPU pelo tempo de CPU do processo.
+ *
+ * O total de bytes alocados ({@code getTotalThreadAllocatedBytes}) só existe a
+ * partir do JDK 21 e é resolvido em tempo de execução, para o projeto compilar
+ * no JDK 20. Sem ele, a alocação é reportada como desconhecida
+ * ({@link ResourceUsage#UNKNOWN_ALLOCATION}): somar só as threads vivas perderia
+ * os workers já encerrados e o delta poderia até ser negativo.
+ */
+public class ResourceMonitor {
+    private static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.OperatingSystemMXBean osBean =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private static final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final List<MemoryPoolMXBean> poolBeans = ManagementFactory.getMemoryPoolMXBeans();
+    private static final MethodHandle totalThreadAllocatedBytes = findTotalThreadAllocatedBytes();
+
+    private long startAllocated;
+    private long startGcCount;
+    private long startGcTime;
+    private long startCpuTime;
+    private long startNanos;
+
+    public static ResourceMonitor start() {
+        ResourceMonitor monitor = new ResourceMonitor();
+
+        for (MemoryPoolMXBean pool : poolBeans) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+
+        monitor.startAllocated = totalAllocatedBytes();
+        monitor.startGcCount = totalGcCount();
+        monitor.startGcTime = totalGcTime();
+        monitor.startCpuTime = osBean.getProcessCpuTime();
+        monitor.startNanos = System.nanoTime();
+        return monitor;
+    }
+
+    public ResourceUsage stop() {
+        long wallNanos = System.nanoTime() - startNanos;
+        long cpuNanos = osBean.getProcessCpuTime() - startCpuTime;
+        long allocated = isAllocationMeasurable()
+                ? totalAllocatedBytes() - startAllocated
+                : ResourceUsage.UNKNOWN_ALLOCATION;
+        long gcCount = totalGcCount() - startGcCount;
+        long gcTime = totalGcTime() - startGcTime;
+
+        // Soma dos picos de cada pool do heap: limite superior do pico real
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : poolBeans) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid() && pool.getPeakUsage() != null) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        return new ResourceUsage(allocated, gcCount, gcTime / 1000.0, peakHeap,
+                cpuNanos / 1_000_000_000.0, wallNanos / 1_000_000_000.0);
+    }
+
+    private static boolean isAllocationMeasurable() {
+        return totalThreadAllocatedBytes != null
+                && threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled();
+    }
+
+    private static long totalAllocatedBytes() {
+        if (!isAllocationMeasurable()) {
+            return 0;
+        }
+        try {
+            return (long) totalThreadAllocatedBytes.invokeExact(threadBean);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Erro ao ler bytes alocados", e);
+        }
+    }
+
+    private static MethodHandle findTotalThreadAllocatedBytes() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(com.sun.management.ThreadMXBean.class, "getTotalThreadAllocatedBytes",
+                            MethodType.methodType(long.class))
+                    .asType(MethodType.methodType(long.class, com.sun.management.ThreadMXBean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalGcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+}
@@ -0,0 +1,45 @@
+package analysis;
+
+public class ResourceUsage {
+    // Bytes alocados desconhecidos (JVM sem getTotalThreadAllocatedBytes)
+    public static final long UNKNOWN_ALLOCATION = -1;
+
+    // O tempo de CPU do processo avança em ticks do SO (~1-10 ms); abaixo disso a razão é ruído
+    private static final double MIN_CPU_WALL_SECONDS = 0.1;
+
+    private long allocatedBytes;
+    private long gcCount;
+    private double gcTime;
+    private long peakHeapBytes;
+    private double cpuTime;
+    private double wallTime;
+
+    public ResourceUsage(long allocatedBytes, long gcCount, double gcTime,
+                         long peakHeapBytes, double cpuTime, double wallTime) {
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcTime = gcTime;
+        this.peakHeapBytes = peakHeapBytes;
+        this.cpuTime = cpuTime;
+        this.wallTime = wallTime;
+    }
+
+    // Getters
+    public long getAllocatedBytes() { return allocatedBytes; }
+    public long getGcCount() { return gcCount; }
+    public double getGcTime() { return gcTime; }
+    public long getPeakHeapBytes() { return peakHeapBytes; }
+    public double getCpuTime() { return cpuTime; }
+    public double getWallTime() { return wallTime; }
+
+    public boolean isAllocationKnown() { return allocatedBytes >= 0; }
+
+    /**
+     * Razão CPU/parede: ~1 para execução serial, até numThreads quando todos os
+     * workers estão ocupados. Usa o CPU do processo inteiro (inclui JIT e GC) e
+     * é NaN para execuções curtas demais para a granularidade do relógio de CPU.
+     */
+    public double getCpuUtilization() {
+        return wallTime >= MIN_CPU_WALL_SECONDS ? cpuTime / wallTime : Double.NaN;
+    }
+}
@@ -0,0 +1,214 @@
+package analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cubo de agregação dos tempos de execução por
+ * (algoritmo × versão × tamanho × tipo de dataset × threads).
+ *
+ * Construído em uma única passada paralela com {@link #build(Collection)} ou
+ * incrementalmente com {@link #add(SortResult)} conforme os resultados chegam.
+ * As consultas agregam células com {@link #rollUp(Predicate, Function)}, sem
+ * voltar à lista de resultados. Não é thread-safe para escrita concorrente.
+ */
+public class ResultCube {
+    private final Map<Key, Stats> cells = new HashMap<>();
+
+    public static ResultCube build(Collection<SortResult> results) {
+        return results.parallelStream().collect(ResultCube::new, ResultCube::add, ResultCube::merge);
+    }
+
+    /**
+     * Lê um log binário ({@link ResultLog}) ou um CSV exportado por
+     * {@code PerformanceAnalyzer.saveToCSV} em fluxo, sem montar a lista de resultados.
+     */
+    public static ResultCube load(Path path) throws IOException {
+        ResultCube cube = new ResultCube();
+        if (ResultLogReader.isResultLog(path)) {
+            new ResultLogReader(path).forEach(cube::add);
+            return cube;
+        }
+
+        try (Stream<String> lines = Files.lines(path)) {
+            lines.skip(1).filter(line -> !line.isBlank()).map(SortResult::fromCSV).forEach(cube::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return cube;
+    }
+
+    public void add(SortResult result) {
+        cells.computeIfAbsent(Key.of(result), k -> new Stats()).add(result.getExecutionTime());
+    }
+
+    public void merge(ResultCube other) {
+        other.cells.forEach((key, stats) -> cells.computeIfAbsent(key, k -> new Stats()).merge(stats));
+    }
+
+    public Stats get(String algorithm, String version, int datasetSize, String datasetType, int numThreads) {
+        return cells.get(new Key(algorithm, version, datasetSize, datasetType, numThreads));
+    }
+
+    public Map<Key, Stats> getCells() {
+        return cells;
+    }
+
+    /**
+     * Agrega as células aceitas por {@code filter} sob a chave projetada por
+     * {@code projection} (ex.: {@code Key::withoutThreads}). O resultado é ordenado.
+     */
+    public TreeMap<Key, Stats> rollUp(Predicate<Key> filter, Function<Key, Key> projection) {
+        TreeMap<Key, Stats> rolled = new TreeMap<>();
+        for (Map.Entry<Key, Stats> entry : cells.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                rolled.computeIfAbsent(projection.apply(entry.getKey()), k -> new Stats()).merge(entry.getValue());
+            }
+        }
+        return rolled;
+    }
+
+    public static class Key implements Comparable<Key> {
+        // Dimensões removidas por uma projeção ficam como null (strings) ou 0 (inteiros)
+        private static final Comparator<Key> ORDER = Comparator
+                .comparing((Key k) -> k.algorithm, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(k -> k.version, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(k -> k.datasetSize)
+                .thenComparing(k -> k.datasetType, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(k -> k.numThreads);
+
+        private final String algorithm;
+        private final String version;
+        private final int datasetSize;
+        private final String datasetType;
+        private final int numThreads;
+
+        public Key(String algorithm, String version, int datasetSize, String datasetType, int numThreads) {
+            this.algorithm = algorithm;
+            this.version = version;
+            this.datasetSize = datasetSize;
+            this.datasetType = datasetType;
+            this.numThreads = numThreads;
+        }
+
+        public static Key of(SortResult result) {
+            return new Key(result.getAlgorithm(), result.getVersion(), result.getDatasetSize(),
+                    result.getDatasetType(), result.getNumThreads());
+        }
+
+        public Key withoutVersion() { return new Key(algorithm, null, datasetSize, datasetType, numThreads); }
+        public Key withoutSize() { return new Key(algorithm, version, 0, datasetType, numThreads); }
+        public Key withoutDatasetType() { return new Key(algorithm, version, datasetSize, null, numThreads); }
+        public Key withoutThreads() { return new Key(algorithm, version, datasetSize, datasetType, 0); }
+
+        // Getters
+        public String getAlgorithm() { return algorithm; }
+        public String getVersion() { return version; }
+        public int getDatasetSize() { return datasetSize; }
+        public String getDatasetType() { return datasetType; }
+        public int getNumThreads() { return numThreads; }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return datasetSize == key.datasetSize && numThreads == key.numThreads &&
+                    Objects.equals(algorithm, key.algorithm) && Objects.equals(version, key.version) &&
+                    Objects.equals(datasetType, key.datasetType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(algorithm, version, datasetSize, datasetType, numThreads);
+        }
+    }
+
+    // Guarda todas as amostras da célula: percentis exatos, ao custo de um double por resultado
+    public static class Stats {
+        private double[] samples = new double[4];
+        private int count;
+        private double sum;
+        private boolean sorted = true;
+
+        public void add(double value) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            if (count > 0 && value < samples[count - 1]) {
+                sorted = false;
+            }
+            samples[count++] = value;
+            sum += value;
+        }
+
+        public void merge(Stats other) {
+            if (other.count == 0) {
+                return;
+            }
+            if (count + other.count > samples.length) {
+                samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + other.count));
+            }
+            System.arraycopy(other.samples, 0, samples, count, other.count);
+            count += other.count;
+            sum += other.sum;
+            sorted = false;
+        }
+
+        public int getCount() { return count; }
+        public double getSum() { return sum; }
+
+        public double getMean() {
+            return count == 0 ? 0 : sum / count;
+        }
+
+        public double getMedian() {
+            return getPercentile(50);
+        }
+
+        public double getMin() {
+            return getPercentile(0);
+        }
+
+        public double getMax() {
+            return getPercentile(100);
+        }
+
+        // Percentil com interpolação linear entre as amostras vizinhas
+        public double getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(samples, 0, count);
+                sorted = true;
+            }
+
+            double rank = percentile / 100.0 * (count - 1);
+            int lower = (int) Math.floor(rank);
+            int upper = (int) Math.ceil(rank);
+            return samples[lower] + (samples[upper] - samples[lower]) * (rank - lower);
+        }
+
+        public double[] getSamples() {
+            return Arrays.copyOf(samples, count);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Log binário append-only de {@link SortResult}, organizado em blocos colunares.
+ *
+ * Formato: cabeçalho ({@code MAGIC}, {@code FORMAT_VERSION}) seguido de registros
+ * {@code [tipo:byte][tamanho:int][conteúdo]}. Strings (algoritmo, versão, tipo de
+ * dataset) são gravadas uma vez em registros {@code DICTIONARY} e referenciadas
+ * por id nos blocos {@code ROWS}, que guardam cada campo como uma coluna contígua.
+ * Um bloco é gravado a cada {@code blockSize} resultados ou em {@link #flush()};
+ * após uma queda, apenas o bloco em memória é perdido.
+ *
+ * A versão 2 acrescentou as colunas da ordenação distribuída; arquivos da
+ * versão 1 continuam legíveis por {@link ResultLogReader}.
+ */
+public class ResultLog implements AutoCloseable {
+    static final int MAGIC = 0x53524C47; // "SRLG"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_BYTES = 8;
+    static final byte DICTIONARY = 1;
+    static final byte ROWS = 2;
+
+    static final byte FLAG_SORTED = 1;
+    static final byte FLAG_TRACE = 2;
+    static final byte FLAG_RESOURCES = 4;
+    static final byte FLAG_DISTRIBUTED = 8;
+
+    // Bytes por linha de um bloco ROWS (ver writeBlock)
+    static final int ROW_BYTES = 3 * 2 + 2 * 4 + 8 + 1 + 8
+            + (8 + 4 + 3 * 8 + 8 + 2 * 8)
+            + (8 + 8 + 8 + 8 + 8 + 8)
+            + (5 * 8 + 3 * 8 + 2 * 8);
+
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private final FileChannel channel;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final SortResult[] pending;
+    private int pendingCount;
+    private long rowCount;
+
+    public ResultLog(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ResultLog(Path path, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Tamanho de bloco inválido: " + blockSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.pending = new SortResult[blockSize];
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        writeFully(header);
+    }
+
+    public synchronized void append(SortResult result) throws IOException {
+        pending[pendingCount++] = result;
+        rowCount++;
+        if (pendingCount == pending.length) {
+            flush();
+        }
+    }
+
+    public synchronized void flush() throws IOException {
+        if (pendingCount == 0) {
+            return;
+        }
+
+        // Entradas novas do dicionário precisam estar no arquivo antes do bloco que as usa
+        for (int i = 0; i < pendingCount; i++) {
+            SortResult r = pending[i];
+            intern(r.getAlgorithm());
+            intern(r.getVersion());
+            intern(r.getDatasetType());
+        }
+
+        writeBlock();
+        channel.force(false);
+
+        Arrays.fill(pending, 0, pendingCount, null);
+        pendingCount = 0;
+    }
+
+    public synchronized long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private int intern(String value) throws IOException {
+        Integer id = dictionary.get(value);
+        if (id != null) {
+            return id;
+        }
+
+        id = dictionary.size();
+        if (id > Short.MAX_VALUE) {
+            throw new IllegalStateException("Dicionário de strings cheio");
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer record = ByteBuffer.allocate(1 + 4 + 2 + bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        record.put(DICTIONARY).putInt(2 + bytes.length).putShort((short) (int) id).put(bytes).flip();
+        writeFully(record);
+
+        dictionary.put(value, id);
+        return id;
+    }
+
+    private void writeBlock() throws IOException {
+        int n = pendingCount;
+        int payload = 4 + n * ROW_BYTES;
+        ByteBuffer buf = ByteBuffer.allocate(1 + 4 + payload).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(ROWS).putInt(payload).putInt(n);
+
+        for (int i = 0; i < n; i++) buf.putShort(dictionary.get(pending[i].getAlgorithm()).shortValue());
+        for (int i = 0; i < n; i++) buf.putShort(dictionary.get(pending[i].getVersion()).shortValue());
+        for (int i = 0; i < n; i++) buf.putShort(dictionary.get(pending[i].getDatasetType()).shortValue());
+        for (int i = 0; i < n; i++) buf.putInt(pending[i].getDatasetSize());
+        for (int i = 0; i < n; i++) buf.putInt(pending[i].getNumThreads());
+        for (int i = 0; i < n; i++) buf.putDouble(pending[i].getExecutionTime());
+        for (int i = 0; i < n; i++) buf.put(flags(pending[i]));
+        for (int i = 0; i < n; i++) buf.putLong(pending[i].getTimestamp());
+
+        for (int i = 0; i < n; i++) buf.putLong(trace(i) != null ? trace(i).getTaskCount() : 0);
+        for (int i = 0; i < n; i++) buf.putInt(trace(i) != null ? trace(i).getMaxDepth() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(trace(i) != null ? trace(i).getLeafTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(trace(i) != null ? trace(i).getPartitionTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(trace(i) != null ? trace(i).getMergeTime() : 0);
+        for (int i = 0; i < n; i++) buf.putLong(trace(i) != null ? trace(i).getStealCount() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(trace(i) != null ? trace(i).getMaxWorkerBusyTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(trace(i) != null ? trace(i).getMinWorkerBusyTime() : 0);
+
+        for (int i = 0; i < n; i++) buf.putLong(usage(i) != null ? usage(i).getAllocatedBytes() : 0);
+        for (int i = 0; i < n; i++) buf.putLong(usage(i) != null ? usage(i).getGcCount() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(usage(i) != null ? usage(i).getGcTime() : 0);
+        for (int i = 0; i < n; i++) buf.putLong(usage(i) != null ? usage(i).getPeakHeapBytes() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(usage(i) != null ? usage(i).getCpuTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(usage(i) != null ? usage(i).getWallTime() : 0);
+
+        for (int i = 0; i < n; i++) buf.putDouble(dist(i) != null ? dist(i).getDistributeTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(dist(i) != null ? dist(i).getSampleTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(dist(i) != null ? dist(i).getShuffleTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(dist(i) != null ? dist(i).getLocalSortTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(dist(i) != null ? dist(i).getCollectTime() : 0);
+        for (int i = 0; i < n; i++) buf.putLong(dist(i) != null ? dist(i).getDistributeBytes() : 0);
+        for (int i = 0; i < n; i++) buf.putLong(dist(i) != null ? dist(i).getShuffleBytes() : 0);
+        for (int i = 0; i < n; i++) buf.putLong(dist(i) != null ? dist(i).getCollectBytes() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(dist(i) != null ? dist(i).getMaxWorkerSortTime() : 0);
+        for (int i = 0; i < n; i++) buf.putDouble(dist(i) != null ? dist(i).getPartitionSkew() : 0);
+
+        buf.flip();
+        writeFully(buf);
+    }
+
+    private TraceSummary trace(int i) {
+        return pending[i].getTrace();
+    }
+
+    private ResourceUsage usage(int i) {
+        return pending[i].getResourceUsage();
+    }
+
+    private DistributedSummary dist(int i) {
+        return pending[i].getDistributed();
+    }
+
+    private static byte flags(SortResult result) {
+        byte flags = 0;
+        if (result.isSorted()) flags |= FLAG_SORTED;
+        if (result.getTrace() != null) flags |= FLAG_TRACE;
+        if (result.getResourceUsage() != null) flags |= FLAG_RESOURCES;
+        if (result.getDistributed() != null) flags |= FLAG_DISTRIBUTED;
+        return flags;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Leitor de arquivos gravados por {@link ResultLog}. O arquivo é mapeado em
+ * memória em janelas de até {@code WINDOW_BYTES}; um bloco final truncado
+ * (execução interrompida) é ignorado. Lê também arquivos da versão 1, sem
+ * as colunas da ordenação distribuída.
+ */
+public class ResultLogReader {
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private final Path path;
+
+    public ResultLogReader(Path path) {
+        this.path = path;
+    }
+
+    public static boolean isResultLog(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < ResultLog.HEADER_BYTES) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            return header.getInt(0) == ResultLog.MAGIC;
+        }
+    }
+
+    public List<SortResult> readAll() throws IOException {
+        List<SortResult> results = new ArrayList<>();
+        forEach(results::add);
+        return results;
+    }
+
+    public void forEach(Consumer<SortResult> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < ResultLog.HEADER_BYTES) {
+                throw new IOException("Arquivo de resultados inválido: " + path);
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, ResultLog.HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            int magic = header.getInt();
+            int version = header.getInt();
+            if (magic != ResultLog.MAGIC || version < 1 || version > ResultLog.FORMAT_VERSION) {
+                throw new IOException("Formato de arquivo de resultados desconhecido: " + path);
+            }
+
+            List<String> dictionary = new ArrayList<>();
+            long position = ResultLog.HEADER_BYTES;
+            long windowStart = -1;
+            MappedByteBuffer window = null;
+
+            while (position + 5 <= fileSize) {
+                if (window == null || position + 5 > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = map(channel, windowStart, fileSize);
+                }
+
+                int offset = (int) (position - windowStart);
+                byte type = window.get(offset);
+                int length = window.getInt(offset + 1);
+                long recordEnd = position + 5 + length;
+                if (length < 0 || recordEnd > fileSize) {
+                    break;
+                }
+
+                // Registro atravessa o fim da janela: remapeia a partir dele
+                if (recordEnd > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = map(channel, windowStart, fileSize);
+                    offset = 0;
+                }
+
+                int body = offset + 5;
+                if (type == ResultLog.DICTIONARY) {
+                    byte[] bytes = new byte[length - 2];
+                    window.get(body + 2, bytes);
+                    dictionary.add(window.getShort(body), new String(bytes, StandardCharsets.UTF_8));
+                } else if (type == ResultLog.ROWS) {
+                    readBlock(window, body, version, dictionary, consumer);
+                } else {
+                    throw new IOException("Registro desconhecido (" + type + ") na posição " + position);
+                }
+
+                position = recordEnd;
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long fileSize) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                Math.min(WINDOW_BYTES, fileSize - start));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static void readBlock(MappedByteBuffer buf, int offset, int version, List<String> dictionary,
+                                  Consumer<SortResult> consumer) {
+        int n = buf.getInt(offset);
+        int p = offset + 4;
+
+        int algorithmCol = p;       p += n * 2;
+        int versionCol = p;         p += n * 2;
+        int typeCol = p;            p += n * 2;
+        int sizeCol = p;            p += n * 4;
+        int threadsCol = p;         p += n * 4;
+        int timeCol = p;            p += n * 8;
+        int flagsCol = p;           p += n;
+        int timestampCol = p;       p += n * 8;
+
+        int taskCountCol = p;       p += n * 8;
+        int maxDepthCol = p;        p += n * 4;
+        int leafCol = p;            p += n * 8;
+        int partitionCol = p;       p += n * 8;
+        int mergeCol = p;           p += n * 8;
+        int stealCol = p;           p += n * 8;
+        int busyMaxCol = p;         p += n * 8;
+        int busyMinCol = p;         p += n * 8;
+
+        int allocatedCol = p;       p += n * 8;
+        int gcCountCol = p;         p += n * 8;
+        int gcTimeCol = p;          p += n * 8;
+        int peakHeapCol = p;        p += n * 8;
+        int cpuCol = p;             p += n * 8;
+        int wallCol = p;            p += n * 8;
+
+        // Colunas da versão 2; em arquivos da versão 1 a flag nunca está ligada
+        int distributeCol = p;      p += n * 8;
+        int sampleCol = p;          p += n * 8;
+        int shuffleCol = p;         p += n * 8;
+        int localSortCol = p;       p += n * 8;
+        int collectCol = p;         p += n * 8;
+        int distributeBytesCol = p; p += n * 8;
+        int shuffleBytesCol = p;    p += n * 8;
+        int collectBytesCol = p;    p += n * 8;
+        int workerSortMaxCol = p;   p += n * 8;
+        int skewCol = p;
+
+        for (int i = 0; i < n; i++) {
+            byte flags = buf.get(flagsCol + i);
+
+            SortResult result = new SortResult(
+                    dictionary.get(buf.getShort(algorithmCol + i * 2)),
+                    dictionary.get(buf.getShort(versionCol + i * 2)),
+                    buf.getInt(sizeCol + i * 4),
+                    dictionary.get(buf.getShort(typeCol + i * 2)),
+                    buf.getInt(threadsCol + i * 4),
+                    buf.getDouble(timeCol + i * 8),
+                    (flags & ResultLog.FLAG_SORTED) != 0,
+                    buf.getLong(timestampCol + i * 8));
+
+            if ((flags & ResultLog.FLAG_TRACE) != 0) {
+                result.setTrace(new TraceSummary(
+                        buf.getLong(taskCountCol + i * 8), buf.getInt(maxDepthCol + i * 4),
+                        buf.getDouble(leafCol + i * 8), buf.getDouble(partitionCol + i * 8),
+                        buf.getDouble(mergeCol + i * 8), buf.getLong(stealCol + i * 8),
+                        buf.getDouble(busyMaxCol + i * 8), buf.getDouble(busyMinCol + i * 8)));
+            }
+
+            if ((flags & ResultLog.FLAG_RESOURCES) != 0) {
+                result.setResourceUsage(new ResourceUsage(
+                        buf.getLong(allocatedCol + i * 8), buf.getLong(gcCountCol + i * 8),
+                        buf.getDouble(gcTimeCol + i * 8), buf.getLong(peakHeapCol + i * 8),
+                        buf.getDouble(cpuCol + i * 8), buf.getDouble(wallCol + i * 8)));
+            }
+
+            if (version >= 2 && (flags & ResultLog.FLAG_DISTRIBUTED) != 0) {
+                result.setDistributed(new DistributedSummary(
+                        buf.getDouble(distributeCol + i * 8), buf.getDouble(sampleCol + i * 8),
+                        buf.getDouble(shuffleCol + i * 8), buf.getDouble(localSortCol + i * 8),
+                        buf.getDouble(collectCol + i * 8), buf.getLong(distributeBytesCol + i * 8),
+                        buf.getLong(shuffleBytesCol + i * 8), buf.getLong(collectBytesCol + i * 8),
+                        buf.getDouble(workerSortMaxCol + i * 8), buf.getDouble(skewCol + i * 8)));
+            }
+
+            consumer.accept(result);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ajuste de modelos de escalabilidade aos tempos medidos.
+ *
+ * Amdahl: S(p) = 1 / (f + (1 - f) / p). Como os sorts paralelos deste projeto
+ * pagam um custo por thread (criação do pool, cópias, merges), as previsões
+ * usam o modelo estendido T(p)/T(1) = f + (1 - f) / p + k·p, cujo termo k gera
+ * um número ótimo de threads. Karp-Flatt: e(p) = (1/S - 1/p) / (1 - 1/p).
+ * Gustafson: S_escalado(p) = p - α(p - 1), ajustado sobre execuções de
+ * escalonamento fraco (n = base × p).
+ */
+public class ScalabilityModel {
+    // Limite da busca numérica de threads ótimas / ponto de equilíbrio
+    private static final int MAX_THREADS_SEARCH = 1024;
+
+    public static class Fit {
+        private final String algorithm;
+        private final int datasetSize;
+        private final double serialTime;
+        private final int[] threads;
+        private final double[] times;
+        private final double[] speedups;
+        private final double[] karpFlatt;
+        private final double amdahlFraction;
+        private final double modelFraction;
+        private final double overheadPerThread;
+
+        Fit(String algorithm, int datasetSize, double serialTime, int[] threads, double[] times) {
+            this.algorithm = algorithm;
+            this.datasetSize = datasetSize;
+            this.serialTime = serialTime;
+            this.threads = threads;
+            this.times = times;
+            this.speedups = new double[threads.length];
+            this.karpFlatt = new double[threads.length];
+            for (int i = 0; i < threads.length; i++) {
+                speedups[i] = serialTime / times[i];
+                karpFlatt[i] = karpFlatt(speedups[i], threads[i]);
+            }
+            this.amdahlFraction = fitAmdahl(threads, speedups);
+
+            double[] model = fitAmdahlWithOverhead(threads, speedups);
+            this.modelFraction = model[0];
+            this.overheadPerThread = model[1];
+        }
+
+        // Getters
+        public String getAlgorithm() { return algorithm; }
+        public int getDatasetSize() { return datasetSize; }
+        public double getSerialTime() { return serialTime; }
+        public int[] getThreads() { return threads; }
+        public double[] getTimes() { return times; }
+        public double[] getSpeedups() { return speedups; }
+        public double[] getKarpFlatt() { return karpFlatt; }
+        public double getAmdahlFraction() { return amdahlFraction; }
+        public double getModelFraction() { return modelFraction; }
+        public double getOverheadPerThread() { return overheadPerThread; }
+
+        public double predictSpeedup(double p) {
+            return 1.0 / (modelFraction + (1 - modelFraction) / p + overheadPerThread * p);
+        }
+
+        // Número de threads com maior speedup previsto; -1 quando o modelo não tem máximo (k = 0)
+        public int getOptimalThreads() {
+            if (overheadPerThread <= 0) {
+                return -1;
+            }
+            int best = 1;
+            for (int p = 2; p <= MAX_THREADS_SEARCH; p++) {
+                if (predictSpeedup(p) > predictSpeedup(best)) {
+                    best = p;
+                }
+            }
+            return best;
+        }
+
+        // Menor número de threads (≥ 2) com speedup previsto ≥ 1; -1 se nunca compensa
+        public int getBreakEvenThreads() {
+            for (int p = 2; p <= MAX_THREADS_SEARCH; p++) {
+                if (predictSpeedup(p) >= 1.0) {
+                    return p;
+                }
+            }
+            return -1;
+        }
+    }
+
+    public static List<Fit> fitStrongScaling(ResultCube cube) {
+        Map<ResultCube.Key, ResultCube.Stats> data = cube.rollUp(k -> true, ResultCube.Key::withoutDatasetType);
+        List<Fit> fits = new ArrayList<>();
+
+        for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : data.entrySet()) {
+            ResultCube.Key serialKey = entry.getKey();
+            if (!serialKey.getVersion().equals("serial")) {
+                continue;
+            }
+
+            TreeMap<Integer, Double> parallel = new TreeMap<>();
+            for (Map.Entry<ResultCube.Key, ResultCube.Stats> other : data.entrySet()) {
+                ResultCube.Key key = other.getKey();
+                if (key.getAlgorithm().equals(serialKey.getAlgorithm()) && key.getVersion().equals("parallel")
+                        && key.getDatasetSize() == serialKey.getDatasetSize()) {
+                    parallel.put(key.getNumThreads(), other.getValue().getMean());
+                }
+            }
+            if (parallel.isEmpty()) {
+                continue;
+            }
+
+            int[] threads = parallel.keySet().stream().mapToInt(Integer::intValue).toArray();
+            double[] times = parallel.values().stream().mapToDouble(Double::doubleValue).toArray();
+            fits.add(new Fit(serialKey.getAlgorithm(), serialKey.getDatasetSize(),
+                    entry.getValue().getMean(), threads, times));
+        }
+
+        return fits;
+    }
+
+    /**
+     * Fração serial de Gustafson por algoritmo, usando as séries de
+     * escalonamento fraco encontradas no cubo (paralelo em n = base × p com
+     * serial medido no mesmo n). Algoritmos sem essas séries ficam de fora.
+     */
+    public static Map<String, Double> fitGustafsonFractions(ResultCube cube) {
+        Map<ResultCube.Key, ResultCube.Stats> data = cube.rollUp(k -> true, ResultCube.Key::withoutDatasetType);
+        Map<String, Double> fractions = new TreeMap<>();
+
+        for (ResultCube.Key baseKey : data.keySet()) {
+            if (!baseKey.getVersion().equals("serial") || fractions.containsKey(baseKey.getAlgorithm())) {
+                continue;
+            }
+
+            List<Integer> threads = new ArrayList<>();
+            List<Double> scaled = new ArrayList<>();
+            for (ResultCube.Key key : data.keySet()) {
+                if (!key.getAlgorithm().equals(baseKey.getAlgorithm()) || !key.getVersion().equals("parallel")
+                        || key.getDatasetSize() != ScalingMode.WEAK.sizeFor(baseKey.getDatasetSize(), key.getNumThreads())) {
+                    continue;
+                }
+                ResultCube.Stats serial = data.get(new ResultCube.Key(key.getAlgorithm(), "serial",
+                        key.getDatasetSize(), null, 1));
+                if (serial != null) {
+                    threads.add(key.getNumThreads());
+                    scaled.add(serial.getMean() / data.get(key).getMean());
+                }
+            }
+
+            // Exige ao menos dois pontos para não confundir com uma execução forte comum
+            if (threads.size() >= 2) {
+                fractions.put(baseKey.getAlgorithm(), fitGustafson(
+                        threads.stream().mapToInt(Integer::intValue).toArray(),
+                        scaled.stream().mapToDouble(Double::doubleValue).toArray()));
+            }
+        }
+
+        return fractions;
+    }
+
+    public static double karpFlatt(double speedup, int threads) {
+        if (threads <= 1) {
+            return Double.NaN;
+        }
+        return (1.0 / speedup - 1.0 / threads) / (1.0 - 1.0 / threads);
+    }
+
+    // Mínimos quadrados em 1/S - 1/p = f·(1 - 1/p), com f limitado a [0, 1]
+    public static double fitAmdahl(int[] threads, double[] speedups) {
+        double sxy = 0, sxx = 0;
+        for (int i = 0; i < threads.length; i++) {
+            double x = 1.0 - 1.0 / threads[i];
+            double y = 1.0 / speedups[i] - 1.0 / threads[i];
+            sxy += x * y;
+            sxx += x * x;
+        }
+        if (sxx == 0) {
+            return Double.NaN;
+        }
+        return clamp(sxy / sxx, 0, 1);
+    }
+
+    /**
+     * Mínimos quadrados em 1/S - 1/p = f·(1 - 1/p) + k·p com f em [0, 1] e k ≥ 0.
+     * O problema é convexo: o ótimo é a solução livre, se viável, ou o melhor
+     * candidato nas bordas f = 0, f = 1 e k = 0. Retorna {f, k}.
+     */
+    static double[] fitAmdahlWithOverhead(int[] threads, double[] speedups) {
+        double s11 = 0, s12 = 0, s22 = 0, s1y = 0, s2y = 0;
+        for (int i = 0; i < threads.length; i++) {
+            double x1 = 1.0 - 1.0 / threads[i];
+            double x2 = threads[i];
+            double y = 1.0 / speedups[i] - 1.0 / threads[i];
+            s11 += x1 * x1;
+            s12 += x1 * x2;
+            s22 += x2 * x2;
+            s1y += x1 * y;
+            s2y += x2 * y;
+        }
+
+        double det = s11 * s22 - s12 * s12;
+        if (Math.abs(det) > 1e-12 * s11 * s22) {
+            double f = (s1y * s22 - s2y * s12) / det;
+            double k = (s11 * s2y - s12 * s1y) / det;
+            if (f >= 0 && f <= 1 && k >= 0) {
+                return new double[]{f, k};
+            }
+        }
+
+        // Candidatos nas bordas: k ótimo com f fixo em 0 ou 1, e f ótimo com k = 0
+        double[][] candidates = {
+                {0, s22 > 0 ? Math.max(0, s2y / s22) : 0},
+                {1, s22 > 0 ? Math.max(0, (s2y - s12) / s22) : 0},
+                {s11 > 0 ? clamp(s1y / s11, 0, 1) : 0, 0}
+        };
+        double[] best = candidates[0];
+        double bestError = Double.POSITIVE_INFINITY;
+        for (double[] candidate : candidates) {
+            double error = 0;
+            for (int i = 0; i < threads.length; i++) {
+                double y = 1.0 / speedups[i] - 1.0 / threads[i];
+                error += Math.pow(y - candidate[0] * (1.0 - 1.0 / threads[i]) - candidate[1] * threads[i], 2);
+            }
+            if (error < bestError) {
+                bestError = error;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    // Mínimos quadrados em p - S = α·(p - 1)
+    public static double fitGustafson(int[] threads, double[] scaledSpeedups) {
+        double sxy = 0, sxx = 0;
+        for (int i = 0; i < threads.length; i++) {
+            double x = threads[i] - 1.0;
+            double y = threads[i] - scaledSpeedups[i];
+            sxy += x * y;
+            sxx += x * x;
+        }
+        return sxx == 0 ? Double.NaN : sxy / sxx;
+    }
+
+    // Ajuste T = c·n^b em escala log-log; retorna {c, b}
+    public static double[] fitPowerLaw(double[] sizes, double[] times) {
+        int n = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] <= 0 || times[i] <= 0) {
+                continue;
+            }
+            double x = Math.log(sizes[i]);
+            double y = Math.log(times[i]);
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+            n++;
+        }
+        double denominator = n * sxx - sx * sx;
+        if (n < 2 || denominator == 0) {
+            return new double[]{Double.NaN, Double.NaN};
+        }
+        double b = (n * sxy - sx * sy) / denominator;
+        double a = (sy - b * sx) / n;
+        return new double[]{Math.exp(a), b};
+    }
+}
@@ -0,0 +1,19 @@
+package analysis;
+
+public enum ScalingMode {
+    // Escalonamento forte: n fixo, só o número de threads varia
+    STRONG,
+    // Escalonamento fraco: n cresce proporcionalmente ao número de threads
+    WEAK;
+
+    public int sizeFor(int baseSize, int numThreads) {
+        if (this == STRONG) {
+            return baseSize;
+        }
+        long size = (long) baseSize * numThreads;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho de dataset excede o máximo: " + size);
+        }
+        return (int) size;
+    }
+}
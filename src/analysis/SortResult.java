@@ -1,5 +1,7 @@
 package analysis;
 
+import java.util.Locale;
+
 public class SortResult {
     private String algorithm;
     private String version;
@@ -9,6 +11,9 @@ public class SortResult {
     private double executionTime;
     private boolean isSorted;
     private long timestamp;
+    private TraceSummary trace;
+    private ResourceUsage resourceUsage;
+    private DistributedSummary distributed;
 
     public SortResult(String algorithm, String version, int datasetSize,
                       String datasetType, int numThreads, double executionTime,
@@ -32,15 +37,74 @@ public class SortResult {
     public double getExecutionTime() { return executionTime; }
     public boolean isSorted() { return isSorted; }
     public long getTimestamp() { return timestamp; }
+    public TraceSummary getTrace() { return trace; }
+
+    // Agregados do rastreamento fork-join (apenas execuções paralelas com rastreamento ligado)
+    public void setTrace(TraceSummary trace) { this.trace = trace; }
+
+    public ResourceUsage getResourceUsage() { return resourceUsage; }
+    public void setResourceUsage(ResourceUsage resourceUsage) { this.resourceUsage = resourceUsage; }
+
+    // Métricas por fase da ordenação distribuída (apenas linhas "distributed")
+    public DistributedSummary getDistributed() { return distributed; }
+    public void setDistributed(DistributedSummary distributed) { this.distributed = distributed; }
 
     @Override
     public String toString() {
-        return String.format("%s,%s,%d,%s,%d,%.6f,%b,%d",
+        // Locale.ROOT: com o locale pt-BR o %.6f gera "0,003304" e quebra as colunas do CSV
+        return String.format(Locale.ROOT, "%s,%s,%d,%s,%d,%.6f,%b,%d,%s,%s,%s",
                 algorithm, version, datasetSize, datasetType, numThreads,
-                executionTime, isSorted, timestamp);
+                executionTime, isSorted, timestamp, traceColumns(), resourceColumns(), distributedColumns());
+    }
+
+    private String resourceColumns() {
+        if (resourceUsage == null) {
+            return ",,,,";
+        }
+        // Alocação desconhecida fica vazia, não como medida
+        return String.format(Locale.ROOT, "%s,%d,%.6f,%d,%.6f",
+                resourceUsage.isAllocationKnown() ? String.valueOf(resourceUsage.getAllocatedBytes()) : "",
+                resourceUsage.getGcCount(), resourceUsage.getGcTime(),
+                resourceUsage.getPeakHeapBytes(), resourceUsage.getCpuTime());
+    }
+
+    private String traceColumns() {
+        if (trace == null) {
+            return ",,,,,,,";
+        }
+        return String.format(Locale.ROOT, "%d,%d,%.6f,%.6f,%.6f,%d,%.6f,%.6f",
+                trace.getTaskCount(), trace.getMaxDepth(), trace.getLeafTime(),
+                trace.getPartitionTime(), trace.getMergeTime(), trace.getStealCount(),
+                trace.getMaxWorkerBusyTime(), trace.getMinWorkerBusyTime());
+    }
+
+    private String distributedColumns() {
+        if (distributed == null) {
+            return ",,,,,,,,,";
+        }
+        return String.format(Locale.ROOT, "%.6f,%.6f,%.6f,%.6f,%.6f,%d,%d,%d,%.6f,%.4f",
+                distributed.getDistributeTime(), distributed.getSampleTime(), distributed.getShuffleTime(),
+                distributed.getLocalSortTime(), distributed.getCollectTime(), distributed.getDistributeBytes(),
+                distributed.getShuffleBytes(), distributed.getCollectBytes(),
+                distributed.getMaxWorkerSortTime(), distributed.getPartitionSkew());
+    }
+
+    // Lê as colunas principais de uma linha gerada por toString(); as colunas opcionais são ignoradas
+    public static SortResult fromCSV(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length < 8) {
+            throw new IllegalArgumentException("Linha de CSV inválida: " + line);
+        }
+        return new SortResult(fields[0], fields[1], Integer.parseInt(fields[2]), fields[3],
+                Integer.parseInt(fields[4]), Double.parseDouble(fields[5]),
+                Boolean.parseBoolean(fields[6]), Long.parseLong(fields[7]));
     }
 
     public static String getCSVHeader() {
-        return "algorithm,version,dataset_size,dataset_type,num_threads,execution_time,is_sorted,timestamp";
+        return "algorithm,version,dataset_size,dataset_type,num_threads,execution_time,is_sorted,timestamp," +
+                "task_count,max_depth,leaf_time,partition_time,merge_time,steal_count,worker_busy_max,worker_busy_min," +
+                "allocated_bytes,gc_count,gc_time,peak_heap_bytes,cpu_time," +
+                "distribute_time,sample_time,shuffle_time,local_sort_time,collect_time," +
+                "distribute_bytes,shuffle_bytes,collect_bytes,worker_sort_max,partition_skew";
     }
 }
\ No newline at end of file
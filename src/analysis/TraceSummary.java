@@ -0,0 +1,44 @@
+package analysis;
+
+import sorting.parallel.SortTrace;
+
+public class TraceSummary {
+    private long taskCount;
+    private int maxDepth;
+    private double leafTime;
+    private double partitionTime;
+    private double mergeTime;
+    private long stealCount;
+    private double maxWorkerBusyTime;
+    private double minWorkerBusyTime;
+
+    public TraceSummary(long taskCount, int maxDepth, double leafTime, double partitionTime,
+                        double mergeTime, long stealCount, double maxWorkerBusyTime,
+                        double minWorkerBusyTime) {
+        this.taskCount = taskCount;
+        this.maxDepth = maxDepth;
+        this.leafTime = leafTime;
+        this.partitionTime = partitionTime;
+        this.mergeTime = mergeTime;
+        this.stealCount = stealCount;
+        this.maxWorkerBusyTime = maxWorkerBusyTime;
+        this.minWorkerBusyTime = minWorkerBusyTime;
+    }
+
+    // Congela os agregados de um rastreamento já concluído
+    public static TraceSummary of(SortTrace trace) {
+        return new TraceSummary(trace.getTaskCount(), trace.getMaxDepth(), trace.getLeafTime(),
+                trace.getPartitionTime(), trace.getMergeTime(), trace.getStealCount(),
+                trace.getMaxWorkerBusyTime(), trace.getMinWorkerBusyTime());
+    }
+
+    // Getters
+    public long getTaskCount() { return taskCount; }
+    public int getMaxDepth() { return maxDepth; }
+    public double getLeafTime() { return leafTime; }
+    public double getPartitionTime() { return partitionTime; }
+    public double getMergeTime() { return mergeTime; }
+    public long getStealCount() { return stealCount; }
+    public double getMaxWorkerBusyTime() { return maxWorkerBusyTime; }
+    public double getMinWorkerBusyTime() { return minWorkerBusyTime; }
+}
@@ -0,0 +1,166 @@
+package distributed;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conexão bloqueante sobre um {@link SocketChannel} com buffers diretos de
+ * entrada e saída. Arrays de inteiros trafegam como tamanho + dados em
+ * big-endian, copiados em bloco pelo {@link IntBuffer}. Conta os bytes que
+ * efetivamente passaram pelo socket.
+ */
+class Connection implements AutoCloseable {
+    private static final int BUFFER_BYTES = 256 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long bytesWritten;
+    private long bytesRead;
+
+    Connection(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.in.flip();
+    }
+
+    static Connection connect(int port) throws IOException {
+        return new Connection(SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)));
+    }
+
+    long getBytesWritten() { return bytesWritten; }
+    long getBytesRead() { return bytesRead; }
+
+    void writeByte(int value) throws IOException {
+        reserve(1);
+        out.put((byte) value);
+    }
+
+    void writeInt(int value) throws IOException {
+        reserve(4);
+        out.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        reserve(8);
+        out.putLong(value);
+    }
+
+    void writeDouble(double value) throws IOException {
+        reserve(8);
+        out.putDouble(value);
+    }
+
+    void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    void writeInts(int[] data) throws IOException {
+        writeInts(data, 0, data.length);
+    }
+
+    void writeInts(int[] data, int from, int to) throws IOException {
+        writeInt(to - from);
+        int position = from;
+        while (position < to) {
+            reserve(4);
+            int count = Math.min(out.remaining() / 4, to - position);
+            out.asIntBuffer().put(data, position, count);
+            out.position(out.position() + count * 4);
+            position += count;
+        }
+    }
+
+    void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            bytesWritten += channel.write(out);
+        }
+        out.clear();
+    }
+
+    byte readByte() throws IOException {
+        require(1);
+        return in.get();
+    }
+
+    int readInt() throws IOException {
+        require(4);
+        return in.getInt();
+    }
+
+    long readLong() throws IOException {
+        require(8);
+        return in.getLong();
+    }
+
+    double readDouble() throws IOException {
+        require(8);
+        return in.getDouble();
+    }
+
+    String readString() throws IOException {
+        byte[] bytes = new byte[readInt()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = readByte();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int[] readInts() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            throw new IOException("Tamanho de array inválido: " + length);
+        }
+
+        int[] data = new int[length];
+        int position = 0;
+        while (position < length) {
+            require(4);
+            int count = Math.min(in.remaining() / 4, length - position);
+            in.asIntBuffer().get(data, position, count);
+            in.position(in.position() + count * 4);
+            position += count;
+        }
+        return data;
+    }
+
+    // Garante espaço para 'bytes' no buffer de saída, esvaziando-o se preciso
+    private void reserve(int bytes) throws IOException {
+        if (out.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    // Garante ao menos 'bytes' disponíveis no buffer de entrada
+    private void require(int bytes) throws IOException {
+        if (in.remaining() >= bytes) {
+            return;
+        }
+        in.compact();
+        while (in.position() < bytes) {
+            int read = channel.read(in);
+            if (read < 0) {
+                throw new EOFException("Conexão encerrada pelo outro lado");
+            }
+            bytesRead += read;
+        }
+        in.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,360 @@
+package distributed;
+
+import analysis.DatasetCache;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordenador da ordenação distribuída no estilo TeraSort. Cada worker é um
+ * processo JVM separado ({@link SortWorker}) em localhost, fazendo o papel de
+ * um nó. Fases de {@link #sort(int[], String)}:
+ *
+ * 1. distribuição: o array é dividido em shards contíguos, um por worker
+ *    (com cache de datasets, cada worker lê o seu shard do disco);
+ * 2. amostragem: cada worker envia uma amostra e o coordenador escolhe os splitters;
+ * 3. shuffle: cada worker particiona o shard por faixa e envia cada partição ao dono;
+ * 4. ordenação local: cada dono ordena sua faixa com os engines paralelos;
+ * 5. coleta: as faixas ordenadas voltam concatenadas na ordem dos workers.
+ *
+ * Os processos são mantidos entre chamadas, então várias amostras não pagam
+ * de novo a inicialização das JVMs.
+ */
+public class DistributedSort implements AutoCloseable {
+    private static final List<String> ALGORITHMS = List.of("merge", "quick");
+    // Amostras por partição: quanto maior, menos desbalanceadas as faixas
+    private static final int OVERSAMPLING = 64;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final List<Process> processes = new ArrayList<>();
+    private final List<Connection> workers = new ArrayList<>();
+    private final int[] ports;
+    private long seed = 42;
+
+    public static class Report {
+        private final int numWorkers;
+        private final int elements;
+        private final double distributeTime;
+        private final double sampleTime;
+        private final double shuffleTime;
+        private final double sortTime;
+        private final double collectTime;
+        private final long distributeBytes;
+        private final long shuffleBytes;
+        private final long collectBytes;
+        private final int[] partitionSizes;
+        private final double[] workerSortTimes;
+        private final int[] output;
+
+        Report(int numWorkers, int elements, double distributeTime, double sampleTime, double shuffleTime,
+               double sortTime, double collectTime, long distributeBytes, long shuffleBytes, long collectBytes,
+               int[] partitionSizes, double[] workerSortTimes, int[] output) {
+            this.numWorkers = numWorkers;
+            this.elements = elements;
+            this.distributeTime = distributeTime;
+            this.sampleTime = sampleTime;
+            this.shuffleTime = shuffleTime;
+            this.sortTime = sortTime;
+            this.collectTime = collectTime;
+            this.distributeBytes = distributeBytes;
+            this.shuffleBytes = shuffleBytes;
+            this.collectBytes = collectBytes;
+            this.partitionSizes = partitionSizes;
+            this.workerSortTimes = workerSortTimes;
+            this.output = output;
+        }
+
+        public int getNumWorkers() { return numWorkers; }
+        public int getElements() { return elements; }
+        public double getDistributeTime() { return distributeTime; }
+        public double getSampleTime() { return sampleTime; }
+        public double getShuffleTime() { return shuffleTime; }
+        public double getSortTime() { return sortTime; }
+        public double getCollectTime() { return collectTime; }
+        public long getDistributeBytes() { return distributeBytes; }
+        public long getShuffleBytes() { return shuffleBytes; }
+        public long getCollectBytes() { return collectBytes; }
+        public int[] getPartitionSizes() { return partitionSizes; }
+        public double[] getWorkerSortTimes() { return workerSortTimes; }
+        public int[] getOutput() { return output; }
+
+        // Tempo da ordenação em si: amostragem + shuffle + ordenação local (sem carga e coleta)
+        public double getTotalTime() {
+            return sampleTime + shuffleTime + sortTime;
+        }
+
+        // Maior partição em relação à ideal (1.0 = faixas perfeitamente balanceadas)
+        public double getSkew() {
+            int max = Arrays.stream(partitionSizes).max().orElse(0);
+            return elements == 0 ? 1.0 : max / ((double) elements / numWorkers);
+        }
+
+        public void print() {
+            System.out.printf("  %d workers, %d elementos:%n", numWorkers, elements);
+            System.out.printf("    distribuição:    %.3f s (%.1f MB)%n", distributeTime, distributeBytes / 1e6);
+            System.out.printf("    amostragem:      %.3f s%n", sampleTime);
+            System.out.printf("    shuffle:         %.3f s (%.1f MB entre workers)%n", shuffleTime, shuffleBytes / 1e6);
+            System.out.printf("    ordenação local: %.3f s (worker mais lento %.3f s, desbalanceamento %.2fx)%n",
+                    sortTime, Arrays.stream(workerSortTimes).max().orElse(0), getSkew());
+            System.out.printf("    coleta:          %.3f s (%.1f MB)%n", collectTime, collectBytes / 1e6);
+            System.out.printf("    total (amostragem + shuffle + ordenação): %.3f s%n", getTotalTime());
+        }
+    }
+
+    public DistributedSort(int numWorkers, int threadsPerWorker) throws IOException {
+        if (numWorkers < 1 || threadsPerWorker < 1) {
+            throw new IllegalArgumentException("Número de workers e de threads deve ser positivo");
+        }
+
+        this.ports = new int[numWorkers];
+        try {
+            for (int i = 0; i < numWorkers; i++) {
+                processes.add(launchWorker(threadsPerWorker));
+            }
+            for (int i = 0; i < numWorkers; i++) {
+                ports[i] = readPort(processes.get(i), i);
+                workers.add(Connection.connect(ports[i]));
+            }
+        } catch (IOException | RuntimeException e) {
+            shutdownWorkers();
+            throw e;
+        }
+    }
+
+    public int getNumWorkers() {
+        return workers.size();
+    }
+
+    public Report sort(int[] data, String algorithm) throws IOException {
+        checkAlgorithm(algorithm);
+        int numWorkers = workers.size();
+        long[] bytesBefore = bytesWritten();
+
+        // 1. Distribuição dos shards
+        long start = System.nanoTime();
+        for (int i = 0; i < numWorkers; i++) {
+            Connection worker = workers.get(i);
+            worker.writeByte(SortWorker.LOAD);
+            worker.writeInt(i);
+            worker.writeInts(ports);
+            worker.writeInts(data, shardStart(data.length, i, numWorkers), shardStart(data.length, i + 1, numWorkers));
+            worker.flush();
+        }
+        for (Connection worker : workers) {
+            worker.readInt();
+        }
+
+        return sortLoaded(data.length, algorithm, elapsed(start), delta(bytesWritten(), bytesBefore));
+    }
+
+    /**
+     * Como {@link #sort(int[], String)}, mas sem enviar os shards: cada worker
+     * mapeia o dataset do cache em disco e copia só a sua faixa. O coordenador
+     * garante antes que o arquivo exista, e não precisa manter o dataset no heap.
+     */
+    public Report sort(DatasetCache cache, String datasetType, int size, long seed, String algorithm)
+            throws IOException {
+        checkAlgorithm(algorithm);
+        cache.map(datasetType, size, seed);
+        int numWorkers = workers.size();
+        long[] bytesBefore = bytesWritten();
+
+        // 1. Carga dos shards direto do cache
+        long start = System.nanoTime();
+        for (int i = 0; i < numWorkers; i++) {
+            Connection worker = workers.get(i);
+            worker.writeByte(SortWorker.LOAD_CACHED);
+            worker.writeInt(i);
+            worker.writeInts(ports);
+            worker.writeString(cache.getDirectory().toAbsolutePath().toString());
+            worker.writeLong(cache.getMaxBytes());
+            worker.writeByte(cache.isVerify() ? 1 : 0);
+            worker.writeString(datasetType);
+            worker.writeInt(size);
+            worker.writeLong(seed);
+            worker.writeInt(shardStart(size, i, numWorkers));
+            worker.writeInt(shardStart(size, i + 1, numWorkers));
+            worker.flush();
+        }
+        for (Connection worker : workers) {
+            worker.readInt();
+        }
+
+        return sortLoaded(size, algorithm, elapsed(start), delta(bytesWritten(), bytesBefore));
+    }
+
+    // Fases 2 a 5, com os shards já carregados nos workers
+    private Report sortLoaded(int elements, String algorithm, double distributeTime, long distributeBytes)
+            throws IOException {
+        int numWorkers = workers.size();
+
+        // 2. Amostragem e escolha dos splitters
+        long start = System.nanoTime();
+        for (Connection worker : workers) {
+            worker.writeByte(SortWorker.SAMPLE);
+            worker.writeInt(OVERSAMPLING * numWorkers);
+            worker.writeLong(seed++);
+            worker.flush();
+        }
+        int[][] samples = new int[numWorkers][];
+        for (int i = 0; i < numWorkers; i++) {
+            samples[i] = workers.get(i).readInts();
+        }
+        int[] splitters = chooseSplitters(samples, numWorkers);
+        double sampleTime = elapsed(start);
+
+        // 3. Shuffle entre workers
+        start = System.nanoTime();
+        for (Connection worker : workers) {
+            worker.writeByte(SortWorker.SHUFFLE);
+            worker.writeInts(splitters);
+            worker.flush();
+        }
+        long shuffleBytes = 0;
+        int[] partitionSizes = new int[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            shuffleBytes += workers.get(i).readLong();
+            partitionSizes[i] = workers.get(i).readInt();
+        }
+        double shuffleTime = elapsed(start);
+
+        // 4. Ordenação local
+        start = System.nanoTime();
+        for (Connection worker : workers) {
+            worker.writeByte(SortWorker.SORT);
+            worker.writeString(algorithm);
+            worker.flush();
+        }
+        double[] workerSortTimes = new double[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            workerSortTimes[i] = workers.get(i).readDouble();
+        }
+        double sortTime = elapsed(start);
+
+        // 5. Coleta
+        long[] readBefore = bytesRead();
+        start = System.nanoTime();
+        for (Connection worker : workers) {
+            worker.writeByte(SortWorker.FETCH);
+            worker.flush();
+        }
+        int[] output = new int[elements];
+        int position = 0;
+        for (Connection worker : workers) {
+            int[] range = worker.readInts();
+            System.arraycopy(range, 0, output, position, range.length);
+            position += range.length;
+        }
+        double collectTime = elapsed(start);
+        long collectBytes = delta(bytesRead(), readBefore);
+
+        return new Report(numWorkers, elements, distributeTime, sampleTime, shuffleTime, sortTime, collectTime,
+                distributeBytes, shuffleBytes, collectBytes, partitionSizes, workerSortTimes, output);
+    }
+
+    private static void checkAlgorithm(String algorithm) {
+        if (!ALGORITHMS.contains(algorithm)) {
+            throw new IllegalArgumentException("Algoritmo desconhecido: " + algorithm);
+        }
+    }
+
+    // numWorkers - 1 splitters em quantis regulares da amostra combinada
+    static int[] chooseSplitters(int[][] samples, int numWorkers) {
+        int[] all = Arrays.stream(samples).flatMapToInt(Arrays::stream).sorted().toArray();
+        int[] splitters = new int[numWorkers - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = all.length == 0 ? 0 : all[(int) ((long) (i + 1) * all.length / numWorkers)];
+        }
+        return splitters;
+    }
+
+    private static int shardStart(int length, int index, int numWorkers) {
+        return (int) ((long) length * index / numWorkers);
+    }
+
+    private static Process launchWorker(int threadsPerWorker) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        // Repassa os limites de heap do coordenador aos workers
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-Xmx") || argument.startsWith("-Xms")) {
+                command.add(argument);
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SortWorker.class.getName());
+        command.add(String.valueOf(threadsPerWorker));
+
+        return new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    private static int readPort(Process process, int index) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null || !line.startsWith("PORT ")) {
+            throw new IOException("Worker " + index + " não iniciou: " + line);
+        }
+        return Integer.parseInt(line.substring(5).trim());
+    }
+
+    private long[] bytesWritten() {
+        return workers.stream().mapToLong(Connection::getBytesWritten).toArray();
+    }
+
+    private long[] bytesRead() {
+        return workers.stream().mapToLong(Connection::getBytesRead).toArray();
+    }
+
+    private static long delta(long[] after, long[] before) {
+        long total = 0;
+        for (int i = 0; i < after.length; i++) {
+            total += after[i] - before[i];
+        }
+        return total;
+    }
+
+    private static double elapsed(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        shutdownWorkers();
+    }
+
+    // Privado para o construtor poder limpar workers já iniciados sem chamar um método sobrescrevível
+    private void shutdownWorkers() {
+        for (Connection worker : workers) {
+            try (worker) {
+                worker.writeByte(SortWorker.SHUTDOWN);
+                worker.flush();
+            } catch (IOException e) {
+                // Worker já encerrado: nada a avisar
+            }
+        }
+        workers.clear();
+
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+}
@@ -0,0 +1,274 @@
+package distributed;
+
+import analysis.DatasetCache;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import sorting.parallel.ParallelMergeSort;
+import sorting.parallel.ParallelQuickSort;
+
+/**
+ * Processo worker da ordenação distribuída. Abre uma porta local, anuncia-a
+ * no stdout ("PORT n") e aceita primeiro a conexão de controle do
+ * coordenador; as conexões seguintes na mesma porta são de outros workers
+ * durante o shuffle. Termina em SHUTDOWN ou quando o coordenador desconecta.
+ *
+ * O shard chega pela rede (LOAD) ou é lido do cache de datasets em disco
+ * compartilhado com o coordenador (LOAD_CACHED), via {@link DatasetCache#map}.
+ */
+public class SortWorker {
+    static final byte LOAD = 1;
+    static final byte SAMPLE = 2;
+    static final byte SHUFFLE = 3;
+    static final byte SORT = 4;
+    static final byte FETCH = 5;
+    static final byte SHUTDOWN = 6;
+    static final byte LOAD_CACHED = 7;
+
+    private final ServerSocketChannel server;
+    private final int numThreads;
+    private int id;
+    private int[] peerPorts;
+    private int[] shard;
+    private int[] partition;
+
+    private SortWorker(ServerSocketChannel server, int numThreads) {
+        this.server = server;
+        this.numThreads = numThreads;
+    }
+
+    // Uso: SortWorker [threads]
+    public static void main(String[] args) throws Exception {
+        int numThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            System.out.println("PORT " + ((InetSocketAddress) server.getLocalAddress()).getPort());
+            System.out.flush();
+
+            try (Connection control = new Connection(server.accept())) {
+                new SortWorker(server, numThreads).serve(control);
+            }
+        }
+    }
+
+    private void serve(Connection control) throws Exception {
+        while (true) {
+            byte command = control.readByte();
+            switch (command) {
+                case LOAD:
+                    id = control.readInt();
+                    peerPorts = control.readInts();
+                    shard = control.readInts();
+                    partition = null;
+                    control.writeInt(shard.length);
+                    break;
+
+                case LOAD_CACHED: {
+                    id = control.readInt();
+                    peerPorts = control.readInts();
+                    DatasetCache cache = new DatasetCache(Paths.get(control.readString()), control.readLong());
+                    cache.setVerify(control.readByte() != 0);
+                    String datasetType = control.readString();
+                    int size = control.readInt();
+                    long seed = control.readLong();
+                    int from = control.readInt();
+                    int to = control.readInt();
+                    shard = new int[to - from];
+                    cache.map(datasetType, size, seed).get(from, shard);
+                    partition = null;
+                    control.writeInt(shard.length);
+                    break;
+                }
+
+                case SAMPLE:
+                    control.writeInts(sample(control.readInt(), control.readLong()));
+                    break;
+
+                case SHUFFLE: {
+                    long bytesSent = shuffle(control.readInts());
+                    control.writeLong(bytesSent);
+                    control.writeInt(partition.length);
+                    break;
+                }
+
+                case SORT: {
+                    String algorithm = control.readString();
+                    long start = System.nanoTime();
+                    partition = sortLocal(partition, algorithm);
+                    control.writeDouble((System.nanoTime() - start) / 1_000_000_000.0);
+                    break;
+                }
+
+                case FETCH:
+                    control.writeInts(partition);
+                    break;
+
+                case SHUTDOWN:
+                    return;
+
+                default:
+                    throw new IOException("Comando desconhecido: " + command);
+            }
+            control.flush();
+        }
+    }
+
+    // Amostra com reposição; a semente vem do coordenador para a execução ser repetível
+    private int[] sample(int sampleSize, long seed) {
+        Random random = new Random(seed);
+        int[] sample = new int[shard.length == 0 ? 0 : sampleSize];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = shard[random.nextInt(shard.length)];
+        }
+        return sample;
+    }
+
+    /**
+     * Particiona o shard por faixas dos splitters e troca as partições com os
+     * demais workers: uma virtual thread recebe enquanto esta thread envia,
+     * então dois workers enviando um ao outro não se bloqueiam. Retorna os
+     * bytes enviados pela rede. Se um envio falha, o recebimento é abortado
+     * fechando só as conexões de peers já aceitas; a porta do servidor continua aberta.
+     */
+    private long shuffle(int[] splitters) throws IOException, InterruptedException {
+        int numWorkers = peerPorts.length;
+        int[][] buckets = partition(shard, splitters, numWorkers);
+        int[][] received = new int[numWorkers][];
+        received[id] = buckets[id];
+        shard = null;
+
+        long bytesSent = 0;
+        Set<SocketChannel> accepted = ConcurrentHashMap.newKeySet();
+        AtomicBoolean aborted = new AtomicBoolean();
+        try (ExecutorService receiver = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> receiving = receiver.submit(() -> {
+                for (int k = 1; k < numWorkers; k++) {
+                    SocketChannel channel = server.accept();
+                    // Registra antes de checar 'aborted': abortReceiving fecha tudo que estiver no conjunto
+                    accepted.add(channel);
+                    try (Connection peer = new Connection(channel)) {
+                        if (aborted.get()) {
+                            return null;
+                        }
+                        int sender = peer.readInt();
+                        received[sender] = peer.readInts();
+                    } finally {
+                        accepted.remove(channel);
+                    }
+                }
+                return null;
+            });
+
+            try {
+                for (int target = 0; target < numWorkers; target++) {
+                    if (target == id) {
+                        continue;
+                    }
+                    try (Connection peer = Connection.connect(peerPorts[target])) {
+                        peer.writeInt(id);
+                        peer.writeInts(buckets[target]);
+                        peer.flush();
+                        bytesSent += peer.getBytesWritten();
+                    }
+                    buckets[target] = null;
+                }
+                receiving.get();
+            } catch (IOException e) {
+                abortReceiving(accepted, aborted);
+                receiving.cancel(false);
+                throw e;
+            } catch (ExecutionException e) {
+                throw new IOException("Erro ao receber partições", e.getCause());
+            }
+        }
+
+        int total = 0;
+        for (int[] bucket : received) {
+            total += bucket.length;
+        }
+        partition = new int[total];
+        int position = 0;
+        for (int[] bucket : received) {
+            System.arraycopy(bucket, 0, partition, position, bucket.length);
+            position += bucket.length;
+        }
+        return bytesSent;
+    }
+
+    /**
+     * Destrava a virtual thread receptora sem interrompê-la: interromper uma
+     * thread bloqueada em {@code server.accept()} fecharia o próprio servidor.
+     * Fecha as conexões de peers em leitura e acorda um accept pendente com
+     * uma conexão local vazia, que o receptor descarta ao ver {@code aborted}.
+     */
+    private void abortReceiving(Set<SocketChannel> accepted, AtomicBoolean aborted) {
+        aborted.set(true);
+        for (SocketChannel channel : accepted) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Já fechada pelo outro lado
+            }
+        }
+        try {
+            SocketChannel.open(server.getLocalAddress()).close();
+        } catch (IOException e) {
+            // Receptor já terminou ou o servidor está fechando
+        }
+    }
+
+    // O elemento x vai para o worker i = número de splitters <= x
+    static int[][] partition(int[] data, int[] splitters, int numWorkers) {
+        int[] counts = new int[numWorkers];
+        for (int value : data) {
+            counts[owner(splitters, value)]++;
+        }
+
+        int[][] buckets = new int[numWorkers][];
+        for (int i = 0; i < numWorkers; i++) {
+            buckets[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int value : data) {
+            int owner = owner(splitters, value);
+            buckets[owner][counts[owner]++] = value;
+        }
+        return buckets;
+    }
+
+    private static int owner(int[] splitters, int value) {
+        int lo = 0, hi = splitters.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (splitters[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int[] sortLocal(int[] data, String algorithm) {
+        switch (algorithm) {
+            case "merge":
+                return ParallelMergeSort.sort(data, numThreads);
+            case "quick":
+                return ParallelQuickSort.sort(data, numThreads);
+            default:
+                throw new IllegalArgumentException("Algoritmo desconhecido: " + algorithm);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package service;
+
+import analysis.DatasetGenerator;
+import analysis.ResultCube;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gerador de carga em malha fechada: cada cliente (virtual thread) envia uma
+ * requisição, espera a resposta e envia a próxima, até o fim da duração.
+ */
+public class LoadGenerator {
+
+    public static class Report {
+        private final long requests;
+        private final long rejected;
+        private final long errors;
+        private final double seconds;
+        private final ResultCube.Stats latencies;
+
+        Report(long requests, long rejected, long errors, double seconds, ResultCube.Stats latencies) {
+            this.requests = requests;
+            this.rejected = rejected;
+            this.errors = errors;
+            this.seconds = seconds;
+            this.latencies = latencies;
+        }
+
+        public long getRequests() { return requests; }
+        public long getRejected() { return rejected; }
+        public long getErrors() { return errors; }
+        public double getThroughput() { return requests / seconds; }
+        public ResultCube.Stats getLatencies() { return latencies; }
+
+        public void print() {
+            System.out.println("\n=== CARGA: SERVIDOR DE ORDENAÇÃO ===");
+            System.out.printf("Requisições: %d em %.1f s (%.1f req/s), rejeitadas (503): %d, erros: %d%n",
+                    requests, seconds, getThroughput(), rejected, errors);
+            System.out.printf("Latência: p50 %.3f ms, p99 %.3f ms, p999 %.3f ms, máx %.3f ms%n",
+                    latencies.getPercentile(50) * 1000, latencies.getPercentile(99) * 1000,
+                    latencies.getPercentile(99.9) * 1000, latencies.getMax() * 1000);
+        }
+    }
+
+    private static class ClientResult {
+        final ResultCube.Stats latencies = new ResultCube.Stats();
+        long rejected;
+        long errors;
+    }
+
+    public static Report run(URI uri, int clients, Duration duration, int arraySize) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        byte[] payload = SortServer.encode(DatasetGenerator.generateDataset(arraySize, "random"));
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        List<Future<ClientResult>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> runClient(client, uri, payload, deadline)));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        ResultCube.Stats latencies = new ResultCube.Stats();
+        long rejected = 0, errors = 0;
+        for (Future<ClientResult> future : futures) {
+            ClientResult result = future.get();
+            latencies.merge(result.latencies);
+            rejected += result.rejected;
+            errors += result.errors;
+        }
+        return new Report(latencies.getCount(), rejected, errors, seconds, latencies);
+    }
+
+    private static ClientResult runClient(HttpClient client, URI uri, byte[] payload, long deadline) {
+        ClientResult result = new ClientResult();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                .build();
+
+        while (System.nanoTime() < deadline) {
+            long sent = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() == 200 && response.body().length == payload.length) {
+                    result.latencies.add((System.nanoTime() - sent) / 1_000_000_000.0);
+                } else if (response.statusCode() == 503) {
+                    result.rejected++;
+                } else {
+                    result.errors++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                result.errors++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import sorting.parallel.ParallelBatchSort;
+
+/**
+ * Agrupa requisições pequenas em lotes e ordena cada lote de uma vez no pool
+ * compartilhado com {@link ParallelBatchSort}. Um lote é fechado ao atingir
+ * {@code maxBatch} requisições ou após {@code maxDelayMicros} desde a primeira. A fila é limitada: quando
+ * cheia ou batcher encerrado, {@link #submit(int[])} retorna {@code null} e o
+ * chamador rejeita. No encerramento, toda requisição pendente (na fila ou já no
+ * lote em formação) é completada com erro: nenhum chamador fica esperando.
+ */
+class RequestBatcher implements AutoCloseable {
+    private final BlockingQueue<Request> queue;
+    private final ForkJoinPool pool;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private static class Request {
+        final int[] data;
+        final CompletableFuture<int[]> future = new CompletableFuture<>();
+
+        Request(int[] data) {
+            this.data = data;
+        }
+    }
+
+    RequestBatcher(ForkJoinPool pool, int queueCapacity, int maxBatch, long maxDelayMicros) {
+        this.pool = pool;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.dispatcher = new Thread(this::dispatchLoop, "sort-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    CompletableFuture<int[]> submit(int[] data) {
+        if (!running) {
+            return null;
+        }
+        Request request = new Request(data);
+        if (!queue.offer(request)) {
+            return null;
+        }
+        // close() pode ter esvaziado a fila entre a checagem e o offer
+        if (!running && queue.remove(request)) {
+            return null;
+        }
+        return request.future;
+    }
+
+    private void dispatchLoop() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                int[][] arrays = new int[batch.size()][];
+                for (int i = 0; i < arrays.length; i++) {
+                    arrays[i] = batch.get(i).data;
+                }
+                ParallelBatchSort.sortAll(arrays, pool);
+                for (Request request : batch) {
+                    request.future.complete(request.data);
+                }
+            } catch (InterruptedException e) {
+                // Encerramento no meio do lote: as requisições já retiradas da fila também falham
+                fail(batch, new IllegalStateException("Servidor encerrado"));
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+
+        List<Request> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        fail(pending, new IllegalStateException("Servidor encerrado"));
+    }
+
+    private static void fail(List<Request> requests, Throwable error) {
+        for (Request request : requests) {
+            request.future.completeExceptionally(error);
+        }
+    }
+}
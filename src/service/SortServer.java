@@ -0,0 +1,243 @@
+package service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import sorting.parallel.ParallelMergeSort;
+
+/**
+ * Servidor HTTP local de ordenação ({@code POST /sort}, corpo e resposta como
+ * inteiros de 32 bits big-endian). Cada conexão é tratada em uma virtual thread.
+ *
+ * Requisições com até {@code SMALL_REQUEST_LIMIT} elementos vão para o
+ * {@link RequestBatcher}; as maiores usam {@link ParallelMergeSort} no pool
+ * compartilhado, limitadas por um semáforo de admissão. Fila cheia ou falta de
+ * vaga resultam em 503, para o cliente recuar em vez de acumular latência.
+ *
+ * O limite de tamanho (413) e a admissão são decididos pelo Content-Length,
+ * antes de ler o corpo. Corpos chunked são lidos só até passar do limite de
+ * requisição pequena; o restante (até {@code MAX_REQUEST_BYTES}) só depois da
+ * admissão.
+ */
+public class SortServer implements AutoCloseable {
+    private static final int SMALL_REQUEST_LIMIT = 8192;
+    private static final int MAX_REQUEST_ELEMENTS = 64 * 1024 * 1024;
+    private static final int MAX_REQUEST_BYTES = MAX_REQUEST_ELEMENTS * 4;
+    private static final int READ_CHUNK_BYTES = 64 * 1024;
+    private static final int BATCH_QUEUE_CAPACITY = 4096;
+    private static final int MAX_BATCH = 256;
+    private static final long MAX_BATCH_DELAY_MICROS = 200;
+    private static final long ADMISSION_TIMEOUT_MILLIS = 50;
+    // Limite de espera por um lote; estourado, a requisição recebe 503 em vez de prender o handler
+    private static final long BATCH_TIMEOUT_MILLIS = 5000;
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ForkJoinPool pool;
+    private final RequestBatcher batcher;
+    private final Semaphore largeSlots;
+
+    public SortServer(int port, int numThreads) throws IOException {
+        this.pool = new ForkJoinPool(numThreads);
+        this.batcher = new RequestBatcher(pool, BATCH_QUEUE_CAPACITY, MAX_BATCH, MAX_BATCH_DELAY_MICROS);
+        // Requisições grandes já usam todo o pool; poucas simultâneas evitam disputa de memória
+        this.largeSlots = new Semaphore(Math.max(1, numThreads / 2));
+        this.handlers = Executors.newVirtualThreadPerTaskExecutor();
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.server.setExecutor(handlers);
+        this.server.createContext("/sort", this::handleSort);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        batcher.close();
+        handlers.close();
+        pool.close();
+    }
+
+    private void handleSort(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                sendText(exchange, 405, "Use POST");
+                return;
+            }
+
+            // Tamanho declarado é checado antes de ler qualquer byte do corpo
+            long declaredBytes = declaredLength(exchange);
+            if (declaredBytes > MAX_REQUEST_BYTES) {
+                sendText(exchange, 413, "Máximo de " + MAX_REQUEST_ELEMENTS + " elementos");
+                return;
+            }
+            if (declaredBytes >= 0 && declaredBytes % 4 != 0) {
+                sendText(exchange, 400, "Corpo deve conter inteiros de 32 bits");
+                return;
+            }
+
+            boolean admitted = false;
+            try {
+                int[] data;
+                if (declaredBytes >= 0) {
+                    // Requisição grande só é lida depois de admitida; o corpo vai direto para o int[]
+                    if (declaredBytes / 4 > SMALL_REQUEST_LIMIT) {
+                        admitted = largeSlots.tryAcquire(ADMISSION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                        if (!admitted) {
+                            sendText(exchange, 503, "Servidor sobrecarregado");
+                            return;
+                        }
+                    }
+                    try (InputStream in = exchange.getRequestBody()) {
+                        data = readInts(in, (int) (declaredBytes / 4));
+                    }
+                } else {
+                    // Corpo chunked: lê só o bastante para saber se é grande; o resto, só depois de admitido
+                    byte[] head;
+                    byte[] rest = new byte[0];
+                    try (InputStream in = exchange.getRequestBody()) {
+                        head = in.readNBytes(SMALL_REQUEST_LIMIT * 4 + 4);
+                        if (head.length > SMALL_REQUEST_LIMIT * 4) {
+                            admitted = largeSlots.tryAcquire(ADMISSION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                            if (!admitted) {
+                                sendText(exchange, 503, "Servidor sobrecarregado");
+                                return;
+                            }
+                            rest = in.readNBytes(MAX_REQUEST_BYTES + 1 - head.length);
+                        }
+                    }
+                    long bodyBytes = (long) head.length + rest.length;
+                    if (bodyBytes > MAX_REQUEST_BYTES) {
+                        sendText(exchange, 413, "Máximo de " + MAX_REQUEST_ELEMENTS + " elementos");
+                        return;
+                    }
+                    if (bodyBytes % 4 != 0) {
+                        sendText(exchange, 400, "Corpo deve conter inteiros de 32 bits");
+                        return;
+                    }
+                    data = decode(head, rest);
+                }
+
+                int[] sorted = admitted ? ParallelMergeSort.sort(data, pool) : sortSmall(data);
+                if (sorted == null) {
+                    sendText(exchange, 503, "Servidor sobrecarregado");
+                    return;
+                }
+
+                byte[] response = encode(sorted);
+                exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            } finally {
+                if (admitted) {
+                    largeSlots.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Content-Length da requisição, ou -1 quando ausente (corpo chunked)
+    private static long declaredLength(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private int[] sortSmall(int[] data) throws InterruptedException, IOException {
+        CompletableFuture<int[]> future = batcher.submit(data);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(BATCH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            return null;
+        } catch (ExecutionException e) {
+            // Batcher encerrado: o servidor está parando, o cliente recebe 503
+            if (e.getCause() instanceof IllegalStateException) {
+                return null;
+            }
+            throw new IOException("Erro ao ordenar lote", e.getCause());
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Lê exatamente 'count' inteiros big-endian do stream, em blocos, sem cópia intermediária do corpo
+    static int[] readInts(InputStream in, int count) throws IOException {
+        int[] data = new int[count];
+        byte[] chunk = new byte[READ_CHUNK_BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        int filled = 0;
+        int pending = 0;
+        while (filled < count) {
+            int read = in.read(chunk, pending, Math.min(chunk.length, (count - filled) * 4) - pending);
+            if (read < 0) {
+                throw new EOFException("Corpo menor que o Content-Length");
+            }
+            pending += read;
+
+            int ints = pending / 4;
+            buffer.clear();
+            buffer.asIntBuffer().get(data, filled, ints);
+            filled += ints;
+            System.arraycopy(chunk, ints * 4, chunk, 0, pending - ints * 4);
+            pending -= ints * 4;
+        }
+        return data;
+    }
+
+    // Junta os dois trechos do corpo chunked no int[]; 'head' tem tamanho múltiplo de 4 sempre que 'rest' não é vazio
+    static int[] decode(byte[] head, byte[] rest) {
+        int[] data = new int[(head.length + rest.length) / 4];
+        ByteBuffer.wrap(head).asIntBuffer().get(data, 0, head.length / 4);
+        ByteBuffer.wrap(rest).asIntBuffer().get(data, head.length / 4, rest.length / 4);
+        return data;
+    }
+
+    static byte[] encode(int[] data) {
+        ByteBuffer buffer = ByteBuffer.allocate(data.length * 4);
+        buffer.asIntBuffer().put(data);
+        return buffer.array();
+    }
+}
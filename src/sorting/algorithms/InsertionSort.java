@@ -17,4 +17,18 @@ public class InsertionSort {
         }
         return arrCopy;
     }
-}
\ No newline at end of file
+
+    // Ordena arr[from..to) no próprio array, sem cópia
+    public static void sortInPlace(int[] arr, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int key = arr[i];
+            int j = i - 1;
+
+            while (j >= from && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+}
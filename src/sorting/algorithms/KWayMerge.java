@@ -0,0 +1,134 @@
+package sorting.algorithms;
+
+/**
+ * Intercalação k-way de sequências já ordenadas usando uma árvore de perdedores
+ * (loser tree). Cada elemento de saída custa O(log k) comparações, então k runs
+ * são combinadas em uma única passada sobre os dados.
+ */
+public class KWayMerge {
+
+    public static int[] mergeSortedRuns(int[][] runs) {
+        int k = runs.length;
+        int[] from = new int[k];
+        int[] to = new int[k];
+        long total = 0;
+
+        for (int i = 0; i < k; i++) {
+            to[i] = runs[i].length;
+            total += runs[i].length;
+        }
+
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total de elementos excede o tamanho máximo de array: " + total);
+        }
+
+        int[] result = new int[(int) total];
+        merge(runs, from, to, result, 0);
+        return result;
+    }
+
+    /**
+     * Intercala {@code runs[i][from[i]..to[i])} de todas as runs em {@code out},
+     * a partir de {@code outPos}. Empates são resolvidos pelo índice da run,
+     * o que mantém a intercalação estável.
+     */
+    public static void merge(int[][] runs, int[] from, int[] to, int[] out, int outPos) {
+        int k = runs.length;
+        if (k == 0) {
+            return;
+        }
+
+        if (k == 1) {
+            System.arraycopy(runs[0], from[0], out, outPos, to[0] - from[0]);
+            return;
+        }
+
+        LoserTree tree = new LoserTree(runs, from, to);
+        int count = 0;
+        for (int i = 0; i < k; i++) {
+            count += to[i] - from[i];
+        }
+
+        int end = outPos + count;
+        for (int o = outPos; o < end; o++) {
+            out[o] = tree.pop();
+        }
+    }
+
+    private static class LoserTree {
+        private final int[][] runs;
+        private final int[] pos;
+        private final int[] end;
+        private final int k;
+        private final int leaves;
+        // tree[0] guarda o vencedor atual; tree[1..leaves) guarda os perdedores de cada nó interno
+        private final int[] tree;
+
+        LoserTree(int[][] runs, int[] from, int[] to) {
+            this.runs = runs;
+            this.k = runs.length;
+            this.pos = from.clone();
+            this.end = to.clone();
+
+            int m = 1;
+            while (m < k) {
+                m <<= 1;
+            }
+            this.leaves = m;
+            this.tree = new int[m];
+
+            // Construção bottom-up: winners[n] é o vencedor da subárvore de n
+            int[] winners = new int[2 * m];
+            for (int i = 0; i < m; i++) {
+                winners[m + i] = i;
+            }
+            for (int n = m - 1; n >= 1; n--) {
+                int a = winners[2 * n];
+                int b = winners[2 * n + 1];
+                if (less(a, b)) {
+                    winners[n] = a;
+                    tree[n] = b;
+                } else {
+                    winners[n] = b;
+                    tree[n] = a;
+                }
+            }
+            tree[0] = winners[1];
+        }
+
+        int pop() {
+            int winner = tree[0];
+            int value = runs[winner][pos[winner]++];
+            replay(winner);
+            return value;
+        }
+
+        private void replay(int run) {
+            int winner = run;
+            for (int node = (run + leaves) >> 1; node >= 1; node >>= 1) {
+                if (less(tree[node], winner)) {
+                    int temp = tree[node];
+                    tree[node] = winner;
+                    winner = temp;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        private boolean exhausted(int run) {
+            return run >= k || pos[run] >= end[run];
+        }
+
+        private boolean less(int a, int b) {
+            if (exhausted(a)) {
+                return false;
+            }
+            if (exhausted(b)) {
+                return true;
+            }
+            int va = runs[a][pos[a]];
+            int vb = runs[b][pos[b]];
+            return va < vb || (va == vb && a < b);
+        }
+    }
+}
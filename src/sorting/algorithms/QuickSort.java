@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class QuickSort {
+    private static final int INSERTION_THRESHOLD = 24;
+
     public static int[] sort(int[] arr) {
         if (arr.length <= 1) {
             return DatasetGenerator.copyArray(arr);
@@ -30,6 +32,49 @@ public class QuickSort {
         return concatenate(leftSorted, listToArray(middle), rightSorted);
     }
 
+    /**
+     * Ordena arr[from..to) no próprio array. Pivô pela mediana de três,
+     * partição em três vias (trata duplicatas) e insertion sort para
+     * trechos pequenos; recursão apenas no lado menor.
+     */
+    public static void sortInPlace(int[] arr, int from, int to) {
+        while (to - from > INSERTION_THRESHOLD) {
+            int mid = (from + to) >>> 1;
+            int pivot = medianOfThree(arr[from], arr[mid], arr[to - 1]);
+
+            // arr[from..lt) < pivot, arr[lt..i) == pivot, arr(gt..to) > pivot
+            int lt = from, i = from, gt = to - 1;
+            while (i <= gt) {
+                if (arr[i] < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (arr[i] > pivot) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (lt - from < to - gt - 1) {
+                sortInPlace(arr, from, lt);
+                from = gt + 1;
+            } else {
+                sortInPlace(arr, gt + 1, to);
+                to = lt;
+            }
+        }
+        InsertionSort.sortInPlace(arr, from, to);
+    }
+
+    private static int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
     private static int[] listToArray(List<Integer> list) {
         return list.stream().mapToInt(i -> i).toArray();
     }
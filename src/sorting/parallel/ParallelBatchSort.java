@@ -0,0 +1,164 @@
+package sorting.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import sorting.algorithms.QuickSort;
+
+/**
+ * Ordenação em lote de muitos arrays pequenos e independentes. Cada array (ou
+ * segmento) é ordenado no próprio lugar por {@link QuickSort#sortInPlace};
+ * o paralelismo vem de distribuir os segmentos entre as threads, agrupados
+ * em blocos contíguos de custo estimado (n·log n) parecido.
+ */
+public class ParallelBatchSort {
+    // Blocos por thread: sobra margem para o work-stealing corrigir erros da estimativa
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    // Ordena cada arrays[i] no próprio lugar
+    public static void sortAll(int[][] arrays, int numThreads) {
+        if (numThreads <= 1) {
+            for (int[] array : arrays) {
+                QuickSort.sortInPlace(array, 0, array.length);
+            }
+            return;
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            sortAll(arrays, pool);
+        }
+    }
+
+    public static void sortAll(int[][] arrays, ForkJoinPool pool) {
+        int[] lengths = new int[arrays.length];
+        for (int i = 0; i < arrays.length; i++) {
+            lengths[i] = arrays[i].length;
+        }
+
+        List<int[]> chunks = balance(lengths, pool.getParallelism());
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (int[] chunk : chunks) {
+            tasks.add(new ArrayChunkTask(arrays, chunk[0], chunk[1]));
+        }
+        pool.invoke(new InvokeAllTask(tasks));
+    }
+
+    /**
+     * Ordena os segmentos {@code data[offsets[s]..offsets[s + 1])} no próprio
+     * array. {@code offsets} tem um elemento a mais que o número de segmentos.
+     */
+    public static void sortSegments(int[] data, int[] offsets, int numThreads) {
+        if (numThreads <= 1) {
+            for (int s = 0; s + 1 < offsets.length; s++) {
+                QuickSort.sortInPlace(data, offsets[s], offsets[s + 1]);
+            }
+            return;
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            sortSegments(data, offsets, pool);
+        }
+    }
+
+    public static void sortSegments(int[] data, int[] offsets, ForkJoinPool pool) {
+        int[] lengths = new int[Math.max(0, offsets.length - 1)];
+        for (int s = 0; s < lengths.length; s++) {
+            lengths[s] = offsets[s + 1] - offsets[s];
+        }
+
+        List<int[]> chunks = balance(lengths, pool.getParallelism());
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (int[] chunk : chunks) {
+            tasks.add(new SegmentChunkTask(data, offsets, chunk[0], chunk[1]));
+        }
+        pool.invoke(new InvokeAllTask(tasks));
+    }
+
+    /**
+     * Divide os segmentos em intervalos contíguos [início, fim) de custo
+     * estimado parecido. Um segmento maior que o custo alvo fica sozinho.
+     */
+    static List<int[]> balance(int[] lengths, int numThreads) {
+        double[] costs = new double[lengths.length];
+        double totalCost = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            costs[i] = cost(lengths[i]);
+            totalCost += costs[i];
+        }
+
+        double target = totalCost / Math.max(1, numThreads * CHUNKS_PER_THREAD);
+        List<int[]> chunks = new ArrayList<>();
+        int start = 0;
+        double accumulated = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            accumulated += costs[i];
+            if (accumulated >= target) {
+                chunks.add(new int[]{start, i + 1});
+                start = i + 1;
+                accumulated = 0;
+            }
+        }
+        if (start < lengths.length) {
+            chunks.add(new int[]{start, lengths.length});
+        }
+        return chunks;
+    }
+
+    private static double cost(int length) {
+        return length <= 1 ? 1 : length * (Math.log(length) / Math.log(2));
+    }
+
+    private static class ArrayChunkTask extends RecursiveAction {
+        private final int[][] arrays;
+        private final int start;
+        private final int end;
+
+        public ArrayChunkTask(int[][] arrays, int start, int end) {
+            this.arrays = arrays;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = start; i < end; i++) {
+                QuickSort.sortInPlace(arrays[i], 0, arrays[i].length);
+            }
+        }
+    }
+
+    private static class SegmentChunkTask extends RecursiveAction {
+        private final int[] data;
+        private final int[] offsets;
+        private final int start;
+        private final int end;
+
+        public SegmentChunkTask(int[] data, int[] offsets, int start, int end) {
+            this.data = data;
+            this.offsets = offsets;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            for (int s = start; s < end; s++) {
+                QuickSort.sortInPlace(data, offsets[s], offsets[s + 1]);
+            }
+        }
+    }
+
+    private static class InvokeAllTask extends RecursiveAction {
+        private final List<RecursiveAction> tasks;
+
+        public InvokeAllTask(List<RecursiveAction> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+}
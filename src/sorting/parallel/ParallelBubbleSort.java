@@ -8,12 +8,20 @@ import analysis.DatasetGenerator;
 public class ParallelBubbleSort {
 
     public static int[] sort(int[] arr, int numThreads) {
+        return sort(arr, numThreads, null);
+    }
+
+    public static int[] sort(int[] arr, int numThreads, SortTrace trace) {
         if (arr.length <= 1000) {
             return BubbleSort.sort(arr);
         }
 
         try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
-            return pool.invoke(new BubbleSortTask(arr, 0, arr.length));
+            int[] result = pool.invoke(new BubbleSortTask(arr, 0, arr.length, 0, trace));
+            if (trace != null) {
+                trace.poolFinished(pool);
+            }
+            return result;
         }
     }
 
@@ -21,31 +29,51 @@ public class ParallelBubbleSort {
         private final int[] arr;
         private final int start;
         private final int end;
+        private final int depth;
+        private final SortTrace trace;
         private static final int THRESHOLD = 500;
 
-        public BubbleSortTask(int[] arr, int start, int end) {
+        public BubbleSortTask(int[] arr, int start, int end, int depth, SortTrace trace) {
             this.arr = arr;
             this.start = start;
             this.end = end;
+            this.depth = depth;
+            this.trace = trace;
         }
 
         @Override
         protected int[] compute() {
             int length = end - start;
+            long taskStart = 0;
+            if (trace != null) {
+                trace.taskStarted(depth);
+                taskStart = System.nanoTime();
+            }
 
             if (length <= THRESHOLD) {
-                return sequentialBubbleSort();
+                int[] sorted = sequentialBubbleSort();
+                if (trace != null) {
+                    trace.record(SortTrace.LEAF, depth, length, taskStart);
+                }
+                return sorted;
             }
 
             int mid = start + length / 2;
-            BubbleSortTask leftTask = new BubbleSortTask(arr, start, mid);
-            BubbleSortTask rightTask = new BubbleSortTask(arr, mid, end);
+            BubbleSortTask leftTask = new BubbleSortTask(arr, start, mid, depth + 1, trace);
+            BubbleSortTask rightTask = new BubbleSortTask(arr, mid, end, depth + 1, trace);
 
             leftTask.fork();
             int[] rightResult = rightTask.compute();
             int[] leftResult = leftTask.join();
 
-            return merge(leftResult, rightResult);
+            if (trace == null) {
+                return merge(leftResult, rightResult);
+            }
+
+            long mergeStart = System.nanoTime();
+            int[] merged = merge(leftResult, rightResult);
+            trace.record(SortTrace.MERGE, depth, merged.length, mergeStart);
+            return merged;
         }
 
         private int[] sequentialBubbleSort() {
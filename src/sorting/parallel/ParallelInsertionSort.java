@@ -8,12 +8,20 @@ import analysis.DatasetGenerator;
 public class ParallelInsertionSort {
 
     public static int[] sort(int[] arr, int numThreads) {
+        return sort(arr, numThreads, null);
+    }
+
+    public static int[] sort(int[] arr, int numThreads, SortTrace trace) {
         if (arr.length <= 1000) {
             return InsertionSort.sort(arr);
         }
 
         try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
-            return pool.invoke(new InsertionSortTask(arr, 0, arr.length));
+            int[] result = pool.invoke(new InsertionSortTask(arr, 0, arr.length, 0, trace));
+            if (trace != null) {
+                trace.poolFinished(pool);
+            }
+            return result;
         }
     }
 
@@ -21,31 +29,51 @@ public class ParallelInsertionSort {
         private final int[] arr;
         private final int start;
         private final int end;
+        private final int depth;
+        private final SortTrace trace;
         private static final int THRESHOLD = 500;
 
-        public InsertionSortTask(int[] arr, int start, int end) {
+        public InsertionSortTask(int[] arr, int start, int end, int depth, SortTrace trace) {
             this.arr = arr;
             this.start = start;
             this.end = end;
+            this.depth = depth;
+            this.trace = trace;
         }
 
         @Override
         protected int[] compute() {
             int length = end - start;
+            long taskStart = 0;
+            if (trace != null) {
+                trace.taskStarted(depth);
+                taskStart = System.nanoTime();
+            }
 
             if (length <= THRESHOLD) {
-                return sequentialInsertionSort();
+                int[] sorted = sequentialInsertionSort();
+                if (trace != null) {
+                    trace.record(SortTrace.LEAF, depth, length, taskStart);
+                }
+                return sorted;
             }
 
             int mid = start + length / 2;
-            InsertionSortTask leftTask = new InsertionSortTask(arr, start, mid);
-            InsertionSortTask rightTask = new InsertionSortTask(arr, mid, end);
+            InsertionSortTask leftTask = new InsertionSortTask(arr, start, mid, depth + 1, trace);
+            InsertionSortTask rightTask = new InsertionSortTask(arr, mid, end, depth + 1, trace);
 
             leftTask.fork();
             int[] rightResult = rightTask.compute();
             int[] leftResult = leftTask.join();
 
-            return merge(leftResult, rightResult);
+            if (trace == null) {
+                return merge(leftResult, rightResult);
+            }
+
+            long mergeStart = System.nanoTime();
+            int[] merged = merge(leftResult, rightResult);
+            trace.record(SortTrace.MERGE, depth, merged.length, mergeStart);
+            return merged;
         }
 
         private int[] sequentialInsertionSort() {
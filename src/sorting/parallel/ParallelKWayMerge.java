@@ -0,0 +1,164 @@
+package sorting.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import sorting.algorithms.KWayMerge;
+
+public class ParallelKWayMerge {
+
+    public static int[] mergeSortedRuns(int[][] runs, int numThreads) {
+        long total = 0;
+        for (int[] run : runs) {
+            total += run.length;
+        }
+
+        if (total <= 1000 || numThreads <= 1 || runs.length <= 1) {
+            return KWayMerge.mergeSortedRuns(runs);
+        }
+
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total de elementos excede o tamanho máximo de array: " + total);
+        }
+
+        int n = (int) total;
+        int[] result = new int[n];
+
+        // Cada thread recebe uma faixa contígua da saída; os pontos de corte em
+        // cada run são encontrados por seleção multi-sequência
+        int[][] splits = new int[numThreads + 1][];
+        splits[0] = new int[runs.length];
+        splits[numThreads] = new int[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            splits[numThreads][i] = runs[i].length;
+        }
+        for (int t = 1; t < numThreads; t++) {
+            splits[t] = multiSequenceSelect(runs, (int) ((long) n * t / numThreads));
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
+            List<MergeRangeTask> tasks = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                int outPos = (int) ((long) n * t / numThreads);
+                tasks.add(new MergeRangeTask(runs, splits[t], splits[t + 1], result, outPos));
+            }
+            pool.invoke(new MergeAllTask(tasks));
+        }
+
+        return result;
+    }
+
+    /**
+     * Encontra, para cada run, quantos elementos ficam entre os {@code rank}
+     * primeiros da intercalação global. Empates são resolvidos pelo índice da
+     * run, igual ao critério da árvore de perdedores em {@link KWayMerge}.
+     */
+    static int[] multiSequenceSelect(int[][] runs, int rank) {
+        int k = runs.length;
+        int[] split = new int[k];
+        if (rank <= 0) {
+            return split;
+        }
+
+        // Busca binária pelo menor valor v com count(<= v) >= rank
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        for (int[] run : runs) {
+            if (run.length > 0) {
+                lo = Math.min(lo, run[0]);
+                hi = Math.max(hi, run[run.length - 1]);
+            }
+        }
+
+        while (lo < hi) {
+            long mid = lo + ((hi - lo) >> 1);
+            long count = 0;
+            for (int[] run : runs) {
+                count += upperBound(run, (int) mid);
+            }
+            if (count >= rank) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+
+        int value = (int) lo;
+        int remaining = rank;
+        for (int i = 0; i < k; i++) {
+            split[i] = lowerBound(runs[i], value);
+            remaining -= split[i];
+        }
+
+        // Distribui os elementos iguais a v na ordem das runs
+        for (int i = 0; i < k && remaining > 0; i++) {
+            int equal = upperBound(runs[i], value) - split[i];
+            int take = Math.min(equal, remaining);
+            split[i] += take;
+            remaining -= take;
+        }
+
+        return split;
+    }
+
+    private static int lowerBound(int[] run, int value) {
+        int lo = 0, hi = run.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (run[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int upperBound(int[] run, int value) {
+        int lo = 0, hi = run.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (run[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static class MergeAllTask extends RecursiveAction {
+        private final List<MergeRangeTask> tasks;
+
+        public MergeAllTask(List<MergeRangeTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+
+    private static class MergeRangeTask extends RecursiveAction {
+        private final int[][] runs;
+        private final int[] from;
+        private final int[] to;
+        private final int[] out;
+        private final int outPos;
+
+        public MergeRangeTask(int[][] runs, int[] from, int[] to, int[] out, int outPos) {
+            this.runs = runs;
+            this.from = from;
+            this.to = to;
+            this.out = out;
+            this.outPos = outPos;
+        }
+
+        @Override
+        protected void compute() {
+            KWayMerge.merge(runs, from, to, out, outPos);
+        }
+    }
+}
@@ -8,26 +8,56 @@ import analysis.DatasetGenerator;
 public class ParallelMergeSort {
 
     public static int[] sort(int[] arr, int numThreads) {
+        return sort(arr, numThreads, null);
+    }
+
+    public static int[] sort(int[] arr, int numThreads, SortTrace trace) {
         if (arr.length <= 1000 || numThreads <= 1) {
             return MergeSort.sort(arr);
         }
 
         try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
-            return pool.invoke(new MergeSortTask(arr));
+            int[] result = pool.invoke(new MergeSortTask(arr, 0, trace));
+            if (trace != null) {
+                trace.poolFinished(pool);
+            }
+            return result;
+        }
+    }
+
+    // Usa um pool compartilhado (ex.: servidor de ordenação) em vez de criar um pool por chamada
+    public static int[] sort(int[] arr, ForkJoinPool pool) {
+        if (arr.length <= 1000 || pool.getParallelism() <= 1) {
+            return MergeSort.sort(arr);
         }
+        return pool.invoke(new MergeSortTask(arr, 0, null));
     }
 
     private static class MergeSortTask extends RecursiveTask<int[]> {
         private final int[] arr;
+        private final int depth;
+        private final SortTrace trace;
 
-        public MergeSortTask(int[] arr) {
+        public MergeSortTask(int[] arr, int depth, SortTrace trace) {
             this.arr = arr;
+            this.depth = depth;
+            this.trace = trace;
         }
 
         @Override
         protected int[] compute() {
+            long start = 0;
+            if (trace != null) {
+                trace.taskStarted(depth);
+                start = System.nanoTime();
+            }
+
             if (arr.length <= 1000) {
-                return MergeSort.sort(arr);
+                int[] sorted = MergeSort.sort(arr);
+                if (trace != null) {
+                    trace.record(SortTrace.LEAF, depth, arr.length, start);
+                }
+                return sorted;
             }
 
             int mid = arr.length / 2;
@@ -37,14 +67,25 @@ public class ParallelMergeSort {
             System.arraycopy(arr, 0, leftArr, 0, mid);
             System.arraycopy(arr, mid, rightArr, 0, arr.length - mid);
 
-            MergeSortTask leftTask = new MergeSortTask(leftArr);
-            MergeSortTask rightTask = new MergeSortTask(rightArr);
+            if (trace != null) {
+                trace.record(SortTrace.PARTITION, depth, arr.length, start);
+            }
+
+            MergeSortTask leftTask = new MergeSortTask(leftArr, depth + 1, trace);
+            MergeSortTask rightTask = new MergeSortTask(rightArr, depth + 1, trace);
 
             leftTask.fork();
             int[] rightResult = rightTask.compute();
             int[] leftResult = leftTask.join();
 
-            return merge(leftResult, rightResult);
+            if (trace == null) {
+                return merge(leftResult, rightResult);
+            }
+
+            long mergeStart = System.nanoTime();
+            int[] merged = merge(leftResult, rightResult);
+            trace.record(SortTrace.MERGE, depth, merged.length, mergeStart);
+            return merged;
         }
 
         private int[] merge(int[] left, int[] right) {
@@ -8,26 +8,48 @@ import analysis.DatasetGenerator;
 public class ParallelQuickSort {
 
     public static int[] sort(int[] arr, int numThreads) {
+        return sort(arr, numThreads, null);
+    }
+
+    public static int[] sort(int[] arr, int numThreads, SortTrace trace) {
         if (arr.length <= 1000 || numThreads <= 1) {
             return QuickSort.sort(arr);
         }
 
         try (ForkJoinPool pool = new ForkJoinPool(numThreads)) {
-            return pool.invoke(new QuickSortTask(arr));
+            int[] result = pool.invoke(new QuickSortTask(arr, 0, trace));
+            if (trace != null) {
+                trace.poolFinished(pool);
+            }
+            return result;
         }
     }
 
     private static class QuickSortTask extends RecursiveTask<int[]> {
         private final int[] arr;
+        private final int depth;
+        private final SortTrace trace;
 
-        public QuickSortTask(int[] arr) {
+        public QuickSortTask(int[] arr, int depth, SortTrace trace) {
             this.arr = arr;
+            this.depth = depth;
+            this.trace = trace;
         }
 
         @Override
         protected int[] compute() {
+            long start = 0;
+            if (trace != null) {
+                trace.taskStarted(depth);
+                start = System.nanoTime();
+            }
+
             if (arr.length <= 1000) {
-                return QuickSort.sort(arr);
+                int[] sorted = QuickSort.sort(arr);
+                if (trace != null) {
+                    trace.record(SortTrace.LEAF, depth, arr.length, start);
+                }
+                return sorted;
             }
 
             int pivot = arr[arr.length / 2];
@@ -45,14 +67,25 @@ public class ParallelQuickSort {
                 }
             }
 
-            QuickSortTask leftTask = new QuickSortTask(listToArray(left));
-            QuickSortTask rightTask = new QuickSortTask(listToArray(right));
+            QuickSortTask leftTask = new QuickSortTask(listToArray(left), depth + 1, trace);
+            QuickSortTask rightTask = new QuickSortTask(listToArray(right), depth + 1, trace);
+
+            if (trace != null) {
+                trace.record(SortTrace.PARTITION, depth, arr.length, start);
+            }
 
             leftTask.fork();
             int[] rightResult = rightTask.compute();
             int[] leftResult = leftTask.join();
 
-            return concatenate(leftResult, listToArray(middle), rightResult);
+            if (trace == null) {
+                return concatenate(leftResult, listToArray(middle), rightResult);
+            }
+
+            long mergeStart = System.nanoTime();
+            int[] combined = concatenate(leftResult, listToArray(middle), rightResult);
+            trace.record(SortTrace.MERGE, depth, combined.length, mergeStart);
+            return combined;
         }
 
         private int[] listToArray(java.util.List<Integer> list) {
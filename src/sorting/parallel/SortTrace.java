@@ -0,0 +1,172 @@
+package sorting.parallel;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Instrumentação opcional das tarefas fork-join dos algoritmos paralelos.
+ * Os {@code Parallel*Sort} recebem uma instância apenas quando o rastreamento
+ * está ligado; com {@code null} as tarefas pulam toda a coleta. Entradas
+ * pequenas seguem o caminho serial sem pool: aí {@link #isForkJoinUsed()} é
+ * falso e os agregados não significam "zero tarefas", e sim "não rastreado".
+ */
+public class SortTrace {
+    public static final String LEAF = "leaf";
+    public static final String PARTITION = "partition";
+    public static final String MERGE = "merge";
+
+    private final String algorithm;
+    private final LongAdder taskCount = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final LongAdder leafNanos = new LongAdder();
+    private final LongAdder partitionNanos = new LongAdder();
+    private final LongAdder mergeNanos = new LongAdder();
+    private final Map<String, LongAdder> workerBusyNanos = new ConcurrentHashMap<>();
+    private volatile long stealCount;
+    private volatile int parallelism;
+
+    public SortTrace(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    void taskStarted(int depth) {
+        taskCount.increment();
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    void record(String phase, int depth, int size, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        switch (phase) {
+            case LEAF:
+                leafNanos.add(elapsed);
+                break;
+            case PARTITION:
+                partitionNanos.add(elapsed);
+                break;
+            default:
+                mergeNanos.add(elapsed);
+        }
+        workerBusyNanos.computeIfAbsent(Thread.currentThread().getName(), k -> new LongAdder()).add(elapsed);
+
+        SortTaskEvent event = new SortTaskEvent();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.phase = phase;
+            event.depth = depth;
+            event.size = size;
+            event.taskDuration = elapsed;
+            event.commit();
+        }
+    }
+
+    void poolFinished(ForkJoinPool pool) {
+        this.stealCount = pool.getStealCount();
+        this.parallelism = pool.getParallelism();
+
+        ForkJoinSortEvent event = new ForkJoinSortEvent();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.parallelism = parallelism;
+            event.taskCount = getTaskCount();
+            event.maxDepth = getMaxDepth();
+            event.stealCount = stealCount;
+            event.leafTime = leafNanos.sum();
+            event.partitionTime = partitionNanos.sum();
+            event.mergeTime = mergeNanos.sum();
+            event.commit();
+        }
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public boolean isForkJoinUsed() { return parallelism > 0; }
+    public long getTaskCount() { return taskCount.sum(); }
+    public int getMaxDepth() { return maxDepth.get(); }
+    public double getLeafTime() { return leafNanos.sum() / 1_000_000_000.0; }
+    public double getPartitionTime() { return partitionNanos.sum() / 1_000_000_000.0; }
+    public double getMergeTime() { return mergeNanos.sum() / 1_000_000_000.0; }
+    public long getStealCount() { return stealCount; }
+    public int getParallelism() { return parallelism; }
+
+    public Map<String, Double> getWorkerBusyTimes() {
+        Map<String, Double> times = new TreeMap<>();
+        workerBusyNanos.forEach((worker, nanos) -> times.put(worker, nanos.sum() / 1_000_000_000.0));
+        return times;
+    }
+
+    public double getMaxWorkerBusyTime() {
+        return getWorkerBusyTimes().values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+    }
+
+    public double getMinWorkerBusyTime() {
+        // Workers do pool que nunca executaram trabalho contam como ociosos
+        if (workerBusyNanos.size() < parallelism) {
+            return 0;
+        }
+        return getWorkerBusyTimes().values().stream().mapToDouble(Double::doubleValue).min().orElse(0);
+    }
+
+    @Name("sorting.SortTask")
+    @Label("Sort Task Phase")
+    @Category({"Sorting", "ForkJoin"})
+    @Description("Fase de uma tarefa fork-join de ordenação (folha, partição ou merge)")
+    public static class SortTaskEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Depth")
+        int depth;
+
+        @Label("Size")
+        int size;
+
+        @Label("Task Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long taskDuration;
+    }
+
+    @Name("sorting.ForkJoinSort")
+    @Label("Fork-Join Sort")
+    @Category({"Sorting", "ForkJoin"})
+    @Description("Agregados de uma execução paralela de ordenação")
+    public static class ForkJoinSortEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Parallelism")
+        int parallelism;
+
+        @Label("Task Count")
+        long taskCount;
+
+        @Label("Max Depth")
+        int maxDepth;
+
+        @Label("Steal Count")
+        long stealCount;
+
+        @Label("Leaf Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long leafTime;
+
+        @Label("Partition Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long partitionTime;
+
+        @Label("Merge Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long mergeTime;
+    }
+}
@@ -1,191 +1,306 @@
 package visualization;
 
+import analysis.ResourceUsage;
+import analysis.ResultCube;
+import analysis.ScalabilityModel;
+import analysis.ScalingMode;
 import analysis.SortResult;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class ChartGenerator {
 
     public static void generateSerialVsParallelComparison(List<SortResult> results) {
-        System.out.println("\n=== GRÁFICO: Serial vs Paralelo ===");
-
-        Map<String, Map<String, Map<Integer, Double>>> algorithmData = new HashMap<>();
+        generateSerialVsParallelComparison(ResultCube.build(results));
+    }
 
-        for (SortResult result : results) {
-            String algo = result.getAlgorithm();
-            String version = result.getVersion();
-            int size = result.getDatasetSize();
-            double time = result.getExecutionTime();
+    public static void generateSerialVsParallelComparison(ResultCube cube) {
+        System.out.println("\n=== GRÁFICO: Serial vs Paralelo ===");
 
-            algorithmData.putIfAbsent(algo, new HashMap<>());
-            algorithmData.get(algo).putIfAbsent(version, new HashMap<>());
+        // Média por algoritmo, versão e tamanho (todos os tipos e threads)
+        Map<ResultCube.Key, ResultCube.Stats> data =
+                cube.rollUp(k -> true, k -> k.withoutDatasetType().withoutThreads());
 
-            // Média por tamanho e versão
-            Map<Integer, Double> versionData = algorithmData.get(algo).get(version);
-            versionData.put(size, versionData.getOrDefault(size, 0.0) + time);
-        }
+        String currentAlgo = null;
+        String currentVersion = null;
+        for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : data.entrySet()) {
+            ResultCube.Key key = entry.getKey();
+            ResultCube.Stats stats = entry.getValue();
 
-        // Calcular médias
-        for (String algo : algorithmData.keySet()) {
-            System.out.println("\n" + algo.toUpperCase() + " Sort:");
-            for (String version : algorithmData.get(algo).keySet()) {
-                Map<Integer, Double> versionData = algorithmData.get(algo).get(version);
-                System.out.println("  " + version + ":");
-                for (int size : versionData.keySet()) {
-                    // Contar quantas amostras temos para este tamanho
-                    long count = results.stream()
-                            .filter(r -> r.getAlgorithm().equals(algo) &&
-                                    r.getVersion().equals(version) &&
-                                    r.getDatasetSize() == size)
-                            .count();
-                    double avgTime = versionData.get(size) / count;
-                    System.out.printf("    Tamanho %d: %.6f s%n", size, avgTime);
-                }
+            if (!key.getAlgorithm().equals(currentAlgo)) {
+                currentAlgo = key.getAlgorithm();
+                currentVersion = null;
+                System.out.println("\n" + currentAlgo.toUpperCase() + " Sort:");
+            }
+            if (!key.getVersion().equals(currentVersion)) {
+                currentVersion = key.getVersion();
+                System.out.println("  " + currentVersion + ":");
             }
+
+            System.out.printf("    Tamanho %d: %.6f s (mediana %.6f s, p95 %.6f s, n=%d)%n",
+                    key.getDatasetSize(), stats.getMean(), stats.getMedian(),
+                    stats.getPercentile(95), stats.getCount());
         }
     }
 
     public static void generateSpeedupAnalysis(List<SortResult> results) {
+        generateSpeedupAnalysis(ResultCube.build(results));
+    }
+
+    public static void generateSpeedupAnalysis(ResultCube cube) {
         System.out.println("\n=== ANÁLISE DE SPEEDUP ===");
 
-        Map<String, Map<Integer, Double>> serialTimes = new HashMap<>();
-        Map<String, Map<Integer, Double>> parallelTimes = new HashMap<>();
+        // Tempos seriais e paralelos por algoritmo e tamanho (paralelo: média entre todas as threads)
+        Map<ResultCube.Key, ResultCube.Stats> serialTimes =
+                cube.rollUp(k -> k.getVersion().equals("serial"), k -> k.withoutDatasetType().withoutThreads());
+        Map<ResultCube.Key, ResultCube.Stats> parallelTimes =
+                cube.rollUp(k -> k.getVersion().equals("parallel"), k -> k.withoutDatasetType().withoutThreads());
 
-        // Coletar tempos seriais
-        for (SortResult result : results) {
-            if (result.getVersion().equals("serial")) {
-                String algo = result.getAlgorithm();
-                int size = result.getDatasetSize();
-                double time = result.getExecutionTime();
+        System.out.println("\nSpeedup (Serial/Paralelo):");
+        String currentAlgo = null;
+        for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : serialTimes.entrySet()) {
+            ResultCube.Key serialKey = entry.getKey();
+            ResultCube.Key parallelKey = new ResultCube.Key(serialKey.getAlgorithm(), "parallel",
+                    serialKey.getDatasetSize(), null, 0);
+            ResultCube.Stats parallelStats = parallelTimes.get(parallelKey);
+            if (parallelStats == null) {
+                continue;
+            }
 
-                serialTimes.putIfAbsent(algo, new HashMap<>());
-                Map<Integer, Double> algoData = serialTimes.get(algo);
-                algoData.put(size, algoData.getOrDefault(size, 0.0) + time);
+            if (!serialKey.getAlgorithm().equals(currentAlgo)) {
+                currentAlgo = serialKey.getAlgorithm();
+                System.out.println("\n" + currentAlgo.toUpperCase() + ":");
             }
+
+            double serialTime = entry.getValue().getMean();
+            double parallelTime = parallelStats.getMean();
+            double speedup = serialTime / parallelTime;
+
+            System.out.printf("  Tamanho %d: %.3f (Serial: %.6fs, Paralelo: %.6fs)%n",
+                    serialKey.getDatasetSize(), speedup, serialTime, parallelTime);
         }
+    }
 
-        // Coletar tempos paralelos (média entre 2 e 4 threads)
-        for (SortResult result : results) {
-            if (result.getVersion().equals("parallel")) {
-                String algo = result.getAlgorithm();
-                int size = result.getDatasetSize();
-                double time = result.getExecutionTime();
-
-                parallelTimes.putIfAbsent(algo, new HashMap<>());
-                Map<Integer, List<Double>> algoData = new HashMap<>();
-                for (SortResult r : results) {
-                    if (r.getVersion().equals("parallel") && r.getAlgorithm().equals(algo)) {
-                        algoData.putIfAbsent(r.getDatasetSize(), new ArrayList<>());
-                        algoData.get(r.getDatasetSize()).add(r.getExecutionTime());
-                    }
-                }
+    public static void generateThreadScalingAnalysis(List<SortResult> results) {
+        generateThreadScalingAnalysis(ResultCube.build(results));
+    }
 
-                // Calcular média para cada tamanho
-                for (int s : algoData.keySet()) {
-                    List<Double> times = algoData.get(s);
-                    double avg = times.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                    parallelTimes.get(algo).put(s, avg);
-                }
+    public static void generateThreadScalingAnalysis(ResultCube cube) {
+        System.out.println("\n=== ESCALONAMENTO POR THREADS ===");
+
+        // Média por algoritmo e número de threads (todos os tamanhos e tipos)
+        Map<ResultCube.Key, ResultCube.Stats> threadScaling = cube.rollUp(
+                k -> k.getVersion().equals("parallel"),
+                k -> k.withoutSize().withoutDatasetType());
+
+        String currentAlgo = null;
+        for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : threadScaling.entrySet()) {
+            ResultCube.Key key = entry.getKey();
+            if (!key.getAlgorithm().equals(currentAlgo)) {
+                currentAlgo = key.getAlgorithm();
+                System.out.println("\n" + currentAlgo.toUpperCase() + ":");
             }
+            System.out.printf("  %d threads: %.6f s%n", key.getNumThreads(), entry.getValue().getMean());
         }
+    }
 
-        // Calcular speedup
-        System.out.println("\nSpeedup (Serial/Paralelo):");
-        for (String algo : serialTimes.keySet()) {
-            if (parallelTimes.containsKey(algo)) {
-                System.out.println("\n" + algo.toUpperCase() + ":");
-                for (int size : serialTimes.get(algo).keySet()) {
-                    if (parallelTimes.get(algo).containsKey(size)) {
-                        double serialTime = serialTimes.get(algo).get(size);
-                        // Contar amostras seriais para calcular média correta
-                        long serialCount = results.stream()
-                                .filter(r -> r.getAlgorithm().equals(algo) &&
-                                        r.getVersion().equals("serial") &&
-                                        r.getDatasetSize() == size)
-                                .count();
-                        serialTime /= serialCount;
-
-                        double parallelTime = parallelTimes.get(algo).get(size);
-                        double speedup = serialTime / parallelTime;
-
-                        System.out.printf("  Tamanho %d: %.3f (Serial: %.6fs, Paralelo: %.6fs)%n",
-                                size, speedup, serialTime, parallelTime);
-                    }
-                }
+    public static void generateDatasetTypeAnalysis(List<SortResult> results) {
+        generateDatasetTypeAnalysis(ResultCube.build(results));
+    }
+
+    public static void generateDatasetTypeAnalysis(ResultCube cube) {
+        System.out.println("\n=== DESEMPENHO POR TIPO DE DATASET ===");
+
+        // Média por algoritmo e tipo (todas as versões, tamanhos e threads)
+        Map<ResultCube.Key, ResultCube.Stats> datasetAnalysis = cube.rollUp(
+                k -> true,
+                k -> k.withoutVersion().withoutSize().withoutThreads());
+
+        String currentAlgo = null;
+        for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : datasetAnalysis.entrySet()) {
+            ResultCube.Key key = entry.getKey();
+            if (!key.getAlgorithm().equals(currentAlgo)) {
+                currentAlgo = key.getAlgorithm();
+                System.out.println("\n" + currentAlgo.toUpperCase() + ":");
             }
+            System.out.printf("  %s: %.6f s%n", key.getDatasetType(), entry.getValue().getMean());
         }
     }
 
-    public static void generateThreadScalingAnalysis(List<SortResult> results) {
-        System.out.println("\n=== ESCALONAMENTO POR THREADS ===");
-
-        Map<String, Map<Integer, Double>> threadScaling = new HashMap<>();
+    public static void generateStrongScalingAnalysis(ResultCube cube, int datasetSize) {
+        System.out.println("\n=== ESCALONAMENTO FORTE (n = " + datasetSize + ") ===");
 
-        for (SortResult result : results) {
-            if (result.getVersion().equals("parallel")) {
-                String algo = result.getAlgorithm();
-                int threads = result.getNumThreads();
-                double time = result.getExecutionTime();
+        Map<ResultCube.Key, ResultCube.Stats> data = cube.rollUp(
+                k -> k.getDatasetSize() == datasetSize, ResultCube.Key::withoutDatasetType);
 
-                threadScaling.putIfAbsent(algo, new HashMap<>());
-                Map<Integer, List<Double>> algoData = new HashMap<>();
+        for (String algo : algorithms(data)) {
+            ResultCube.Stats serial = data.get(new ResultCube.Key(algo, "serial", datasetSize, null, 1));
+            if (serial == null) {
+                continue;
+            }
 
-                for (SortResult r : results) {
-                    if (r.getVersion().equals("parallel") && r.getAlgorithm().equals(algo)) {
-                        algoData.putIfAbsent(r.getNumThreads(), new ArrayList<>());
-                        algoData.get(r.getNumThreads()).add(r.getExecutionTime());
-                    }
-                }
+            double serialTime = serial.getMean();
+            System.out.println("\n" + algo.toUpperCase() + ":");
+            System.out.println("  Threads | Tempo (s)  | Speedup | Eficiência");
+            System.out.printf("  %7d | %.6f | %7.3f | %9.1f%%%n", 1, serialTime, 1.0, 100.0);
 
-                // Calcular média por número de threads
-                for (int t : algoData.keySet()) {
-                    List<Double> times = algoData.get(t);
-                    double avg = times.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-                    threadScaling.get(algo).put(t, avg);
+            for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : data.entrySet()) {
+                ResultCube.Key key = entry.getKey();
+                if (key.getAlgorithm().equals(algo) && key.getVersion().equals("parallel")) {
+                    double parallelTime = entry.getValue().getMean();
+                    double speedup = serialTime / parallelTime;
+                    System.out.printf("  %7d | %.6f | %7.3f | %9.1f%%%n",
+                            key.getNumThreads(), parallelTime, speedup, 100.0 * speedup / key.getNumThreads());
                 }
             }
         }
+    }
+
+    public static void generateWeakScalingAnalysis(ResultCube cube, int baseSize) {
+        System.out.println("\n=== ESCALONAMENTO FRACO (n = " + baseSize + " × threads) ===");
 
-        for (String algo : threadScaling.keySet()) {
+        Map<ResultCube.Key, ResultCube.Stats> data = cube.rollUp(k -> true, ResultCube.Key::withoutDatasetType);
+
+        for (String algo : algorithms(data)) {
+            ResultCube.Stats baseSerial = data.get(new ResultCube.Key(algo, "serial", baseSize, null, 1));
+            if (baseSerial == null) {
+                continue;
+            }
+
+            double baseTime = baseSerial.getMean();
             System.out.println("\n" + algo.toUpperCase() + ":");
-            Map<Integer, Double> algoData = threadScaling.get(algo);
-            for (int threads : new int[]{2, 4}) {
-                if (algoData.containsKey(threads)) {
-                    System.out.printf("  %d threads: %.6f s%n", threads, algoData.get(threads));
+            System.out.println("  Threads | Tamanho    | Tempo (s)  | Speedup escalado | Eficiência fraca");
+            System.out.printf("  %7d | %10d | %.6f | %16.3f | %15.1f%%%n", 1, baseSize, baseTime, 1.0, 100.0);
+
+            // Speedup escalado (Gustafson): serial / paralelo no mesmo n = base × p
+            // Eficiência fraca: tempo serial no tamanho base / tempo paralelo em n = base × p
+            for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : data.entrySet()) {
+                ResultCube.Key key = entry.getKey();
+                if (!key.getAlgorithm().equals(algo) || !key.getVersion().equals("parallel")
+                        || key.getDatasetSize() != ScalingMode.WEAK.sizeFor(baseSize, key.getNumThreads())) {
+                    continue;
                 }
+
+                double parallelTime = entry.getValue().getMean();
+                ResultCube.Stats serial = data.get(new ResultCube.Key(algo, "serial", key.getDatasetSize(), null, 1));
+                double scaledSpeedup = serial != null ? serial.getMean() / parallelTime : Double.NaN;
+
+                System.out.printf("  %7d | %10d | %.6f | %16.3f | %15.1f%%%n",
+                        key.getNumThreads(), key.getDatasetSize(), parallelTime, scaledSpeedup,
+                        100.0 * baseTime / parallelTime);
             }
         }
     }
 
-    public static void generateDatasetTypeAnalysis(List<SortResult> results) {
-        System.out.println("\n=== DESEMPENHO POR TIPO DE DATASET ===");
+    public static void generateScalabilityAnalysis(ResultCube cube) {
+        System.out.println("\n=== MODELOS DE ESCALABILIDADE (Amdahl / Karp-Flatt) ===");
 
-        Map<String, Map<String, Double>> datasetAnalysis = new HashMap<>();
+        String currentAlgo = null;
+        for (ScalabilityModel.Fit fit : ScalabilityModel.fitStrongScaling(cube)) {
+            if (!fit.getAlgorithm().equals(currentAlgo)) {
+                currentAlgo = fit.getAlgorithm();
+                System.out.println("\n" + currentAlgo.toUpperCase() + ":");
+            }
 
-        for (SortResult result : results) {
-            String algo = result.getAlgorithm();
-            String datasetType = result.getDatasetType();
-            double time = result.getExecutionTime();
+            int optimal = fit.getOptimalThreads();
+            int breakEven = fit.getBreakEvenThreads();
+            System.out.printf("  Tamanho %d: f=%.4f, k=%.2e, ótimo=%s, equilíbrio=%s%n",
+                    fit.getDatasetSize(), fit.getModelFraction(), fit.getOverheadPerThread(),
+                    optimal < 0 ? "sem limite" : optimal + " threads",
+                    breakEven < 0 ? "nunca" : breakEven + " threads");
+            for (int i = 0; i < fit.getThreads().length; i++) {
+                System.out.printf("    %d threads: speedup %.3f, Karp-Flatt %.4f%n",
+                        fit.getThreads()[i], fit.getSpeedups()[i], fit.getKarpFlatt()[i]);
+            }
+        }
 
-            datasetAnalysis.putIfAbsent(algo, new HashMap<>());
-            datasetAnalysis.get(algo).put(datasetType,
-                    datasetAnalysis.get(algo).getOrDefault(datasetType, 0.0) + time);
+        Map<String, Double> gustafson = ScalabilityModel.fitGustafsonFractions(cube);
+        for (Map.Entry<String, Double> entry : gustafson.entrySet()) {
+            System.out.printf("  Gustafson %s: α=%.4f%n", entry.getKey(), entry.getValue());
         }
+    }
 
-        // Calcular médias
-        for (String algo : datasetAnalysis.keySet()) {
+    private static Set<String> algorithms(Map<ResultCube.Key, ResultCube.Stats> data) {
+        Set<String> algorithms = new TreeSet<>();
+        for (ResultCube.Key key : data.keySet()) {
+            algorithms.add(key.getAlgorithm());
+        }
+        return algorithms;
+    }
+
+    public static void generateMemoryEfficiencyReport(List<SortResult> results) {
+        generateMemoryEfficiencyReport(results::forEach);
+    }
+
+    /**
+     * Versão em fluxo: {@code source} entrega os resultados ao consumidor (ex.:
+     * {@code analyzer::forEachResult}) e só os agregados por configuração ficam em memória.
+     */
+    public static void generateMemoryEfficiencyReport(Consumer<Consumer<SortResult>> source) {
+        System.out.println("\n=== EFICIÊNCIA DE MEMÓRIA ===");
+
+        // algoritmo -> versão/threads -> tamanho -> agregados
+        Map<String, Map<String, Map<Integer, MemoryStats>>> memoryData = new TreeMap<>();
+
+        source.accept(result -> {
+            ResourceUsage usage = result.getResourceUsage();
+            if (usage == null) {
+                return;
+            }
+
+            String config = result.getVersion() + " (" + result.getNumThreads() + "t)";
+            memoryData.computeIfAbsent(result.getAlgorithm(), k -> new TreeMap<>())
+                    .computeIfAbsent(config, k -> new TreeMap<>())
+                    .computeIfAbsent(result.getDatasetSize(), k -> new MemoryStats())
+                    .add(usage);
+        });
+
+        for (String algo : memoryData.keySet()) {
             System.out.println("\n" + algo.toUpperCase() + ":");
-            Map<String, Double> algoData = datasetAnalysis.get(algo);
+            for (String config : memoryData.get(algo).keySet()) {
+                System.out.println("  " + config + ":");
+                for (Map.Entry<Integer, MemoryStats> entry : memoryData.get(algo).get(config).entrySet()) {
+                    int size = entry.getKey();
+                    MemoryStats stats = entry.getValue();
+                    // Bytes alocados por elemento: 4 seria uma única cópia do array de entrada
+                    String allocation = stats.allocatedCount == 0 ? "alocação n/d" : String.format(
+                            "%.1f KB alocados (%.1f B/elem)", stats.allocated / stats.allocatedCount / 1024.0,
+                            stats.allocated / stats.allocatedCount / size);
+                    // Execuções curtas demais para o relógio de CPU não entram na razão
+                    String cpu = stats.cpuCount == 0 ? "n/d" : String.format("%.2f", stats.cpuRatio / stats.cpuCount);
+                    System.out.printf("    Tamanho %d: %s, GC %.1fx / %.6f s, pico heap %.1f MB, CPU/parede %s%n",
+                            size, allocation, stats.gcCount / stats.count, stats.gcTime / stats.count,
+                            stats.peakHeap / (1024.0 * 1024.0), cpu);
+                }
+            }
+        }
+    }
 
-            for (String datasetType : algoData.keySet()) {
-                // Contar amostras para este tipo
-                long count = results.stream()
-                        .filter(r -> r.getAlgorithm().equals(algo) &&
-                                r.getDatasetType().equals(datasetType))
-                        .count();
-                double avgTime = algoData.get(datasetType) / count;
-                System.out.printf("  %s: %.6f s%n", datasetType, avgTime);
+    // Somas para as médias (só das medidas válidas) e o maior pico de heap de uma configuração
+    private static class MemoryStats {
+        long count;
+        long allocatedCount;
+        double allocated;
+        double gcCount;
+        double gcTime;
+        long peakHeap;
+        long cpuCount;
+        double cpuRatio;
+
+        void add(ResourceUsage usage) {
+            count++;
+            if (usage.isAllocationKnown()) {
+                allocatedCount++;
+                allocated += usage.getAllocatedBytes();
+            }
+            gcCount += usage.getGcCount();
+            gcTime += usage.getGcTime();
+            peakHeap = Math.max(peakHeap, usage.getPeakHeapBytes());
+            double ratio = usage.getCpuUtilization();
+            if (!Double.isNaN(ratio)) {
+                cpuCount++;
+                cpuRatio += ratio;
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package visualization;
+
+import analysis.ResultCube;
+import analysis.ScalabilityModel;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Relatório HTML autocontido (SVG embutido, sem scripts nem recursos externos)
+ * com speedup, eficiência, Karp-Flatt, ajustes de Amdahl/Gustafson e tempo × n
+ * em escala log-log.
+ */
+public class HtmlReportGenerator {
+
+    public static void generate(ResultCube cube, String filename) throws IOException {
+        List<ScalabilityModel.Fit> fits = ScalabilityModel.fitStrongScaling(cube);
+        Map<String, Double> gustafson = ScalabilityModel.fitGustafsonFractions(cube);
+        Map<ResultCube.Key, ResultCube.Stats> bySize = cube.rollUp(
+                k -> true, k -> k.withoutDatasetType());
+
+        Map<String, List<ScalabilityModel.Fit>> fitsByAlgorithm = new TreeMap<>();
+        for (ScalabilityModel.Fit fit : fits) {
+            fitsByAlgorithm.computeIfAbsent(fit.getAlgorithm(), k -> new ArrayList<>()).add(fit);
+        }
+
+        try (PrintWriter out = new PrintWriter(filename, "UTF-8")) {
+            out.println("<!DOCTYPE html>");
+            out.println("<html lang=\"pt-BR\"><head><meta charset=\"UTF-8\">");
+            out.println("<title>Análise de Escalabilidade</title>");
+            out.println("<style>body{font-family:sans-serif;margin:24px;color:#222}"
+                    + "table{border-collapse:collapse;margin:8px 0 20px}td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}"
+                    + "th{background:#f4f4f4}.charts{display:flex;flex-wrap:wrap;gap:12px}</style>");
+            out.println("</head><body>");
+            out.println("<h1>Análise de Escalabilidade</h1>");
+            out.println("<p>Speedup S(p) = T<sub>serial</sub> / T<sub>p</sub>. Curvas tracejadas: modelo de Amdahl "
+                    + "com custo por thread, T(p)/T(1) = f + (1 − f)/p + k·p. Karp-Flatt: "
+                    + "e(p) = (1/S − 1/p) / (1 − 1/p).</p>");
+
+            for (String algo : algorithms(bySize)) {
+                out.println("<h2>" + SvgChart.escape(algo.toUpperCase()) + "</h2>");
+                out.println("<div class=\"charts\">");
+
+                List<ScalabilityModel.Fit> algoFits = fitsByAlgorithm.getOrDefault(algo, Collections.emptyList());
+                if (!algoFits.isEmpty()) {
+                    out.println(speedupChart(algo, algoFits).toSvg());
+                    out.println(efficiencyChart(algo, algoFits).toSvg());
+                }
+                out.println(complexityChart(algo, bySize).toSvg());
+                out.println("</div>");
+
+                if (!algoFits.isEmpty()) {
+                    writeFitTable(out, algoFits);
+                }
+                if (gustafson.containsKey(algo)) {
+                    out.printf(Locale.ROOT, "<p>Gustafson (escalonamento fraco): fração serial α = %.4f</p>%n",
+                            gustafson.get(algo));
+                }
+            }
+
+            out.println("</body></html>");
+        }
+    }
+
+    private static SvgChart speedupChart(String algo, List<ScalabilityModel.Fit> fits) {
+        SvgChart chart = new SvgChart("Speedup — " + algo, "threads", "speedup", false, false);
+        int maxThreads = 1;
+        for (ScalabilityModel.Fit fit : fits) {
+            maxThreads = Math.max(maxThreads, fit.getThreads()[fit.getThreads().length - 1]);
+        }
+
+        for (ScalabilityModel.Fit fit : fits) {
+            double[] x = withOne(fit.getThreads());
+            double[] y = new double[x.length];
+            y[0] = 1;
+            System.arraycopy(fit.getSpeedups(), 0, y, 1, fit.getSpeedups().length);
+            chart.addSeries("n=" + fit.getDatasetSize(), x, y);
+
+            double[] px = range(1, 2 * maxThreads);
+            double[] py = new double[px.length];
+            for (int i = 0; i < px.length; i++) {
+                py[i] = fit.predictSpeedup(px[i]);
+            }
+            chart.addModel("modelo n=" + fit.getDatasetSize(), px, py);
+        }
+
+        double[] ideal = range(1, 2 * maxThreads);
+        chart.addModel("ideal", ideal, ideal);
+        return chart;
+    }
+
+    private static SvgChart efficiencyChart(String algo, List<ScalabilityModel.Fit> fits) {
+        SvgChart chart = new SvgChart("Eficiência — " + algo, "threads", "eficiência (S/p)", false, false);
+        for (ScalabilityModel.Fit fit : fits) {
+            double[] x = withOne(fit.getThreads());
+            double[] y = new double[x.length];
+            y[0] = 1;
+            for (int i = 0; i < fit.getThreads().length; i++) {
+                y[i + 1] = fit.getSpeedups()[i] / fit.getThreads()[i];
+            }
+            chart.addSeries("n=" + fit.getDatasetSize(), x, y);
+        }
+        return chart;
+    }
+
+    private static SvgChart complexityChart(String algo, Map<ResultCube.Key, ResultCube.Stats> bySize) {
+        SvgChart chart = new SvgChart("Tempo × n — " + algo, "n (log)", "tempo em s (log)", true, true);
+
+        // Uma série por configuração (serial e cada número de threads)
+        Map<String, TreeMap<Integer, Double>> seriesData = new TreeMap<>();
+        for (Map.Entry<ResultCube.Key, ResultCube.Stats> entry : bySize.entrySet()) {
+            ResultCube.Key key = entry.getKey();
+            if (key.getAlgorithm().equals(algo)) {
+                String name = key.getVersion().equals("serial") ? "serial" : key.getNumThreads() + " threads";
+                seriesData.computeIfAbsent(name, k -> new TreeMap<>())
+                        .put(key.getDatasetSize(), entry.getValue().getMean());
+            }
+        }
+
+        for (Map.Entry<String, TreeMap<Integer, Double>> entry : seriesData.entrySet()) {
+            double[] x = entry.getValue().keySet().stream().mapToDouble(Integer::doubleValue).toArray();
+            double[] y = entry.getValue().values().stream().mapToDouble(Double::doubleValue).toArray();
+            double[] fit = ScalabilityModel.fitPowerLaw(x, y);
+
+            if (Double.isNaN(fit[1])) {
+                chart.addSeries(entry.getKey(), x, y);
+                continue;
+            }
+
+            chart.addSeries(String.format(Locale.ROOT, "%s (n^%.2f)", entry.getKey(), fit[1]), x, y);
+            double[] fx = {x[0], x[x.length - 1]};
+            double[] fy = {fit[0] * Math.pow(fx[0], fit[1]), fit[0] * Math.pow(fx[1], fit[1])};
+            chart.addModel("ajuste", fx, fy);
+        }
+        return chart;
+    }
+
+    private static void writeFitTable(PrintWriter out, List<ScalabilityModel.Fit> fits) {
+        out.println("<table><tr><th>n</th><th>T serial (s)</th><th>threads</th><th>speedup</th>"
+                + "<th>Karp-Flatt e(p)</th><th>Amdahl f</th><th>modelo f</th><th>k (custo/thread)</th>"
+                + "<th>threads ótimas</th><th>equilíbrio</th></tr>");
+        for (ScalabilityModel.Fit fit : fits) {
+            int rows = fit.getThreads().length;
+            for (int i = 0; i < rows; i++) {
+                out.print("<tr>");
+                if (i == 0) {
+                    out.printf(Locale.ROOT, "<td rowspan=\"%d\">%d</td><td rowspan=\"%d\">%.6f</td>",
+                            rows, fit.getDatasetSize(), rows, fit.getSerialTime());
+                }
+                out.printf(Locale.ROOT, "<td>%d</td><td>%.3f</td><td>%.4f</td>",
+                        fit.getThreads()[i], fit.getSpeedups()[i], fit.getKarpFlatt()[i]);
+                if (i == 0) {
+                    int optimal = fit.getOptimalThreads();
+                    int breakEven = fit.getBreakEvenThreads();
+                    out.printf(Locale.ROOT,
+                            "<td rowspan=\"%d\">%.4f</td><td rowspan=\"%d\">%.4f</td><td rowspan=\"%d\">%.2e</td>"
+                                    + "<td rowspan=\"%d\">%s</td><td rowspan=\"%d\">%s</td>",
+                            rows, fit.getAmdahlFraction(), rows, fit.getModelFraction(),
+                            rows, fit.getOverheadPerThread(),
+                            rows, optimal < 0 ? "sem limite" : String.valueOf(optimal),
+                            rows, breakEven < 0 ? "nunca" : String.valueOf(breakEven));
+                }
+                out.println("</tr>");
+            }
+        }
+        out.println("</table>");
+    }
+
+    private static Set<String> algorithms(Map<ResultCube.Key, ResultCube.Stats> data) {
+        Set<String> algorithms = new TreeSet<>();
+        for (ResultCube.Key key : data.keySet()) {
+            algorithms.add(key.getAlgorithm());
+        }
+        return algorithms;
+    }
+
+    private static double[] withOne(int[] threads) {
+        double[] x = new double[threads.length + 1];
+        x[0] = 1;
+        for (int i = 0; i < threads.length; i++) {
+            x[i + 1] = threads[i];
+        }
+        return x;
+    }
+
+    private static double[] range(int from, int to) {
+        double[] values = new double[to - from + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,218 @@
+package visualization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Gráfico de linhas em SVG puro (sem dependências), com eixos lineares ou
+ * logarítmicos. Usado pelo {@link HtmlReportGenerator}.
+ */
+public class SvgChart {
+    private static final String[] COLORS = {
+            "#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b", "#e377c2", "#7f7f7f"
+    };
+    private static final int WIDTH = 560;
+    private static final int HEIGHT = 360;
+    private static final int LEFT = 70, RIGHT = 160, TOP = 40, BOTTOM = 50;
+
+    private final String title;
+    private final String xLabel;
+    private final String yLabel;
+    private final boolean logX;
+    private final boolean logY;
+    private final List<Series> series = new ArrayList<>();
+
+    private static class Series {
+        final String name;
+        final double[] x;
+        final double[] y;
+        final boolean dashed;
+        final boolean markers;
+        final String color;
+
+        Series(String name, double[] x, double[] y, boolean dashed, boolean markers, String color) {
+            this.name = name;
+            this.x = x;
+            this.y = y;
+            this.dashed = dashed;
+            this.markers = markers;
+            this.color = color;
+        }
+    }
+
+    public SvgChart(String title, String xLabel, String yLabel, boolean logX, boolean logY) {
+        this.title = title;
+        this.xLabel = xLabel;
+        this.yLabel = yLabel;
+        this.logX = logX;
+        this.logY = logY;
+    }
+
+    // Série medida: linha contínua com marcadores
+    public SvgChart addSeries(String name, double[] x, double[] y) {
+        series.add(new Series(name, x, y, false, true, nextColor()));
+        return this;
+    }
+
+    // Curva de modelo: tracejada, na cor da série anterior (ou nova cor se for a primeira)
+    public SvgChart addModel(String name, double[] x, double[] y) {
+        String color = series.isEmpty() ? nextColor() : series.get(series.size() - 1).color;
+        series.add(new Series(name, x, y, true, false, color));
+        return this;
+    }
+
+    private String nextColor() {
+        long measured = series.stream().filter(s -> !s.dashed).count();
+        return COLORS[(int) (measured % COLORS.length)];
+    }
+
+    public String toSvg() {
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (Series s : series) {
+            for (int i = 0; i < s.x.length; i++) {
+                if (!valid(s.x[i], logX) || !valid(s.y[i], logY)) continue;
+                minX = Math.min(minX, s.x[i]);
+                maxX = Math.max(maxX, s.x[i]);
+                minY = Math.min(minY, s.y[i]);
+                maxY = Math.max(maxY, s.y[i]);
+            }
+        }
+        if (minX > maxX) {
+            minX = 1; maxX = 2; minY = 1; maxY = 2;
+        }
+        if (!logY) {
+            minY = Math.min(0, minY);
+        }
+        if (minX == maxX) { minX = logX ? minX / 2 : minX - 1; maxX = logX ? maxX * 2 : maxX + 1; }
+        if (minY == maxY) { minY = logY ? minY / 2 : minY - 1; maxY = logY ? maxY * 2 : maxY + 1; }
+
+        Axis xAxis = new Axis(minX, maxX, logX, LEFT, WIDTH - RIGHT);
+        Axis yAxis = new Axis(minY, maxY * (logY ? 1 : 1.05), logY, HEIGHT - BOTTOM, TOP);
+
+        StringBuilder svg = new StringBuilder();
+        svg.append(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\" font-size=\"11\">%n",
+                WIDTH, HEIGHT));
+        svg.append(String.format(Locale.ROOT,
+                "<text x=\"%d\" y=\"20\" font-size=\"14\" font-weight=\"bold\">%s</text>%n", LEFT, escape(title)));
+
+        // Grade e rótulos dos eixos
+        for (double tick : xAxis.ticks()) {
+            double px = xAxis.toPixel(tick);
+            svg.append(String.format(Locale.ROOT,
+                    "<line x1=\"%.1f\" y1=\"%d\" x2=\"%.1f\" y2=\"%d\" stroke=\"#eee\"/>%n", px, TOP, px, HEIGHT - BOTTOM));
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>%n", px, HEIGHT - BOTTOM + 15, format(tick)));
+        }
+        for (double tick : yAxis.ticks()) {
+            double py = yAxis.toPixel(tick);
+            svg.append(String.format(Locale.ROOT,
+                    "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#eee\"/>%n", LEFT, py, WIDTH - RIGHT, py));
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>%n", LEFT - 5, py + 4, format(tick)));
+        }
+        svg.append(String.format(Locale.ROOT,
+                "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"#444\"/>%n",
+                LEFT, TOP, WIDTH - LEFT - RIGHT, HEIGHT - TOP - BOTTOM));
+        svg.append(String.format(Locale.ROOT,
+                "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\">%s</text>%n",
+                (LEFT + WIDTH - RIGHT) / 2, HEIGHT - 12, escape(xLabel)));
+        svg.append(String.format(Locale.ROOT,
+                "<text x=\"15\" y=\"%d\" text-anchor=\"middle\" transform=\"rotate(-90 15 %d)\">%s</text>%n",
+                (TOP + HEIGHT - BOTTOM) / 2, (TOP + HEIGHT - BOTTOM) / 2, escape(yLabel)));
+
+        // Séries e legenda
+        int legendY = TOP + 5;
+        for (Series s : series) {
+            StringBuilder points = new StringBuilder();
+            for (int i = 0; i < s.x.length; i++) {
+                if (!valid(s.x[i], logX) || !valid(s.y[i], logY)) continue;
+                points.append(String.format(Locale.ROOT, "%.1f,%.1f ", xAxis.toPixel(s.x[i]), yAxis.toPixel(s.y[i])));
+            }
+            svg.append(String.format(Locale.ROOT,
+                    "<polyline points=\"%s\" fill=\"none\" stroke=\"%s\" stroke-width=\"2\"%s/>%n",
+                    points.toString().trim(), s.color, s.dashed ? " stroke-dasharray=\"5,4\"" : ""));
+            if (s.markers) {
+                for (int i = 0; i < s.x.length; i++) {
+                    if (!valid(s.x[i], logX) || !valid(s.y[i], logY)) continue;
+                    svg.append(String.format(Locale.ROOT,
+                            "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"3\" fill=\"%s\"/>%n",
+                            xAxis.toPixel(s.x[i]), yAxis.toPixel(s.y[i]), s.color));
+                }
+            }
+
+            svg.append(String.format(Locale.ROOT,
+                    "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"%s\" stroke-width=\"2\"%s/>%n",
+                    WIDTH - RIGHT + 10, legendY, WIDTH - RIGHT + 30, legendY, s.color,
+                    s.dashed ? " stroke-dasharray=\"5,4\"" : ""));
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%d\" y=\"%d\">%s</text>%n", WIDTH - RIGHT + 35, legendY + 4, escape(s.name)));
+            legendY += 16;
+        }
+
+        svg.append("</svg>\n");
+        return svg.toString();
+    }
+
+    private static boolean valid(double value, boolean log) {
+        return Double.isFinite(value) && (!log || value > 0);
+    }
+
+    private static String format(double value) {
+        if (value != 0 && (Math.abs(value) >= 1e5 || Math.abs(value) < 1e-3)) {
+            return String.format(Locale.ROOT, "%.0e", value);
+        }
+        if (value == Math.rint(value)) {
+            return String.format(Locale.ROOT, "%.0f", value);
+        }
+        return String.format(Locale.ROOT, "%.3g", value);
+    }
+
+    static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static class Axis {
+        final double min, max;
+        final boolean log;
+        final double pixelStart, pixelEnd;
+
+        Axis(double min, double max, boolean log, double pixelStart, double pixelEnd) {
+            this.min = log ? Math.log10(min) : min;
+            this.max = log ? Math.log10(max) : max;
+            this.log = log;
+            this.pixelStart = pixelStart;
+            this.pixelEnd = pixelEnd;
+        }
+
+        double toPixel(double value) {
+            double v = log ? Math.log10(value) : value;
+            return pixelStart + (v - min) / (max - min) * (pixelEnd - pixelStart);
+        }
+
+        List<Double> ticks() {
+            List<Double> ticks = new ArrayList<>();
+            if (log) {
+                for (int e = (int) Math.ceil(min - 1e-9); e <= Math.floor(max + 1e-9); e++) {
+                    ticks.add(Math.pow(10, e));
+                }
+                if (ticks.size() < 2) {
+                    ticks.clear();
+                    ticks.add(Math.pow(10, min));
+                    ticks.add(Math.pow(10, max));
+                }
+                return ticks;
+            }
+
+            double step = Math.pow(10, Math.floor(Math.log10((max - min) / 5)));
+            if ((max - min) / step > 10) step *= 2;
+            if ((max - min) / step > 10) step *= 2.5;
+            for (double t = Math.ceil(min / step) * step; t <= max + step * 1e-9; t += step) {
+                ticks.add(Math.abs(t) < step * 1e-9 ? 0 : t);
+            }
+            return ticks;
+        }
+    }
+}